@@ -0,0 +1,63 @@
+package com.starwars.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.SwapiPagedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding SWAPI result pages into PeopleDto/PlanetDto, including their normalizing setters
+ * (mass with thousands separators, gender aliases, population parsing).
+ * "results" is the number of records in the page: 10 is a real SWAPI page, the rest are synthetic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DtoDeserializationBenchmark {
+
+    private static final TypeReference<SwapiPagedResponse<PeopleDto>> PEOPLE_PAGE = new TypeReference<>() {};
+    private static final TypeReference<SwapiPagedResponse<PlanetDto>> PLANET_PAGE = new TypeReference<>() {};
+
+    @Param({"10", SyntheticData.SWAPI_PEOPLE, "10000", "100000"})
+    public int results;
+
+    private ObjectMapper mapper;
+    private byte[] peopleJson;
+    private byte[] planetsJson;
+
+    @Setup
+    public void setUp() {
+        mapper = new JacksonConfig().objectMapper();
+        peopleJson = SyntheticData.swapiPage(SyntheticData.rawPeople(results));
+        planetsJson = SyntheticData.swapiPage(SyntheticData.rawPlanets(results));
+    }
+
+    @Benchmark
+    public SwapiPagedResponse<PeopleDto> people() throws IOException {
+        return mapper.readValue(peopleJson, PEOPLE_PAGE);
+    }
+
+    @Benchmark
+    public SwapiPagedResponse<PlanetDto> planets() throws IOException {
+        return mapper.readValue(planetsJson, PLANET_PAGE);
+    }
+}
@@ -0,0 +1,87 @@
+package com.starwars.backend.benchmark;
+
+import com.starwars.backend.model.HasName;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.sorting.NameCollation;
+import com.starwars.backend.sorting.NameSort;
+import com.starwars.backend.sorting.SortEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name sorting: the current case-insensitive comparator, a Collator compared on every comparison,
+ * and NameCollation's precomputed collation keys, both on a snapshot whose keys are already computed
+ * (warm, the steady state) and including the key computation (cold, the first sort of a snapshot).
+ * Every fourth name gets an accented first letter so the collator does real work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameCollationBenchmark {
+
+    @Param({SyntheticData.SWAPI_PEOPLE, "10000", "1000000"})
+    public int size;
+
+    private List<PeopleDto> people;
+    private SortEngine caseInsensitive;
+    private SortEngine warmKeys;
+    private Comparator<HasName> collatorCompare;
+
+    @Setup
+    public void setUp() {
+        SyntheticData.quietLogging();
+        people = new ArrayList<>(SyntheticData.people(size));
+        for (int i = 0; i < people.size(); i += 4) {
+            PeopleDto person = people.get(i);
+            person.setName("É" + person.getName().substring(1));
+        }
+        caseInsensitive = new SortEngine(List.of(new NameSort()), new SimpleMeterRegistry());
+        warmKeys = new SortEngine(List.of(new NameSort(new NameCollation("en"))), new SimpleMeterRegistry());
+        warmKeys.sort(people, PeopleDto.class, "name", true);
+        Collator collator = Collator.getInstance(Locale.ENGLISH);
+        collator.setStrength(Collator.SECONDARY);
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        collatorCompare = Comparator.comparing(HasName::getName, Comparator.nullsFirst(collator));
+    }
+
+    @Benchmark
+    public List<PeopleDto> caseInsensitiveComparator() {
+        return caseInsensitive.sort(people, PeopleDto.class, "name", true);
+    }
+
+    @Benchmark
+    public List<PeopleDto> collatorComparator() {
+        return people.stream().sorted(collatorCompare).toList();
+    }
+
+    @Benchmark
+    public List<PeopleDto> collationKeysWarm() {
+        return warmKeys.sort(people, PeopleDto.class, "name", true);
+    }
+
+    @Benchmark
+    public List<PeopleDto> collationKeysCold() {
+        SortEngine cold = new SortEngine(List.of(new NameSort(new NameCollation("en"))), new SimpleMeterRegistry());
+        return cold.sort(people, PeopleDto.class, "name", true);
+    }
+}
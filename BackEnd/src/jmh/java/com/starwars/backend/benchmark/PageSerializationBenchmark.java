@@ -0,0 +1,98 @@
+package com.starwars.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.ResponseFormat;
+import com.starwars.backend.service.BinaryPageWriter;
+import com.starwars.backend.service.PageJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a PageDto to JSON: through JacksonConfig's mapper (every item encoded on each call),
+ * and through PageJsonWriter, which reuses each entity's encoded fragment. The binary formats are
+ * encoded through BinaryPageWriter with the converters JacksonConfig registers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"15", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private PageJsonWriter writer;
+    private BinaryPageWriter binaryWriter;
+    private PageDto<PeopleDto> peoplePage;
+    private PageDto<PlanetDto> planetPage;
+
+    @Setup
+    public void setUp() {
+        JacksonConfig config = new JacksonConfig();
+        mapper = config.objectMapper();
+        writer = new PageJsonWriter(mapper);
+        binaryWriter = new BinaryPageWriter(List.of(config.smileHttpMessageConverter(),
+                config.cborHttpMessageConverter(), config.messagePackHttpMessageConverter()));
+        peoplePage = page(SyntheticData.people(pageSize));
+        planetPage = page(SyntheticData.planets(pageSize));
+    }
+
+    @Benchmark
+    public byte[] peopleWithMapper() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(peoplePage);
+    }
+
+    @Benchmark
+    public byte[] planetsWithMapper() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(planetPage);
+    }
+
+    @Benchmark
+    public byte[] peopleWithFragments() {
+        return writer.toBytes(peoplePage);
+    }
+
+    @Benchmark
+    public byte[] planetsWithFragments() {
+        return writer.toBytes(planetPage);
+    }
+
+    @Benchmark
+    public byte[] peopleAsSmile() {
+        return binaryWriter.toBytes(peoplePage, ResponseFormat.SMILE, "");
+    }
+
+    @Benchmark
+    public byte[] peopleAsCbor() {
+        return binaryWriter.toBytes(peoplePage, ResponseFormat.CBOR, "");
+    }
+
+    @Benchmark
+    public byte[] peopleAsMsgpack() {
+        return binaryWriter.toBytes(peoplePage, ResponseFormat.MSGPACK, "");
+    }
+
+    private static <T> PageDto<T> page(List<T> items) {
+        return PageDto.<T>builder().page(0).size(items.size()).total(items.size() * 10L).items(items).build();
+    }
+}
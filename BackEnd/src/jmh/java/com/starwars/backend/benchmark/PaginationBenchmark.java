@@ -0,0 +1,59 @@
+package com.starwars.backend.benchmark;
+
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.util.PaginationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaginationUtil.paginate on the first, middle and last page of a sorted dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PaginationBenchmark {
+
+    @Param({SyntheticData.SWAPI_PEOPLE, "10000", "1000000"})
+    public int size;
+
+    @Param({"15", "100"})
+    public int pageSize;
+
+    @Param({"first", "middle", "last"})
+    public String position;
+
+    private List<PeopleDto> people;
+    private int page;
+
+    @Setup
+    public void setUp() {
+        people = SyntheticData.people(size);
+        int lastPage = (size - 1) / pageSize;
+        page = switch (position) {
+            case "first" -> 0;
+            case "middle" -> lastPage / 2;
+            default -> lastPage;
+        };
+    }
+
+    @Benchmark
+    public PageDto<PeopleDto> paginate() {
+        return PaginationUtil.paginate(people, page, pageSize);
+    }
+}
@@ -0,0 +1,72 @@
+package com.starwars.backend.benchmark;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.sorting.CreatedSort;
+import com.starwars.backend.sorting.GenderSort;
+import com.starwars.backend.sorting.HeightSort;
+import com.starwars.backend.sorting.MassSort;
+import com.starwars.backend.sorting.NameSort;
+import com.starwars.backend.sorting.PopulationSort;
+import com.starwars.backend.sorting.SortEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SortEngine.sort for every registered strategy and both directions, from SWAPI size up to 1M items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SortEngineBenchmark {
+
+    @Param({SyntheticData.SWAPI_PEOPLE, "10000", "1000000"})
+    public int size;
+
+    /** Resource and sort field; covers every registered strategy and generated sort keys for both entity types. */
+    @Param({"people:name", "people:created", "people:height", "people:mass", "people:gender",
+            "people:birth_year", "planets:name", "planets:created", "planets:population", "planets:diameter"})
+    public String sortKey;
+
+    @Param({"asc", "desc"})
+    public String dir;
+
+    private SortEngine engine;
+    private List<?> data;
+    private Class<?> type;
+    private String field;
+
+    @Setup
+    public void setUp() {
+        SyntheticData.quietLogging();
+        engine = new SortEngine(List.of(new NameSort(), new CreatedSort(), new HeightSort(), new MassSort(),
+                new GenderSort(), new PopulationSort()), new SimpleMeterRegistry());
+        String[] key = sortKey.split(":");
+        boolean people = "people".equals(key[0]);
+        data = people ? SyntheticData.people(size) : SyntheticData.planets(size);
+        type = people ? PeopleDto.class : PlanetDto.class;
+        field = key[1];
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<?> sort() {
+        return engine.sort((List) data, (Class) type, field, "asc".equals(dir));
+    }
+}
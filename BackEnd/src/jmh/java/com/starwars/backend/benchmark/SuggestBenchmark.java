@@ -0,0 +1,54 @@
+package com.starwars.backend.benchmark;
+
+import com.starwars.backend.model.Suggestion;
+import com.starwars.backend.service.NameSuggestIndex;
+import com.starwars.backend.service.NameSuggestIndex.Ranking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookups against a NameSuggestIndex. Sample-time mode, so the report carries p99/p99.9;
+ * the target is a p99 under 1 ms at 1M names. Queries range from a one-letter prefix (widest infix range)
+ * to a term matching nothing; "4" matches no name prefix but a word start in most synthetic names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SuggestBenchmark {
+
+    @Param({SyntheticData.SWAPI_PEOPLE, "1000000"})
+    public int size;
+
+    @Param({"l", "s", "4", "sky", "lukesky", "4242", "qq"})
+    public String query;
+
+    @Param({"PREFIX_FIRST", "NAME"})
+    public Ranking ranking;
+
+    private NameSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        index = NameSuggestIndex.build(SyntheticData.people(size));
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return index.suggest(query, 10, ranking);
+    }
+}
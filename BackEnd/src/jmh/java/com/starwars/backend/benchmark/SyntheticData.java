@@ -0,0 +1,144 @@
+package com.starwars.backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic SWAPI-shaped data for the benchmarks, at any size.
+ * Raw records use SWAPI's field names and its messy values ("1,358", "n/a", "unknown", mixed-case
+ * genders), so deserialization exercises the DTOs' normalizing setters and sorting sees realistic keys.
+ */
+final class SyntheticData {
+
+    /** SWAPI itself has 82 people and 60 planets. */
+    static final String SWAPI_PEOPLE = "82";
+
+    private static final long SEED = 42;
+    private static final String[] SYLLABLES = {"lu", "ke", "sky", "wal", "ker", "dar", "th", "va", "der",
+            "le", "ia", "or", "ga", "na", "han", "so", "lo", "ob", "i", "wan", "ken", "ob", "yo", "da"};
+    private static final String[] GENDERS = {"male", "female", "n/a", "none", "Hermaphrodite", "unknown", "MALE"};
+    private static final String[] CLIMATES = {"arid", "temperate", "frozen", "murky", "tropical"};
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2014, 12, 9, 13, 50, 51, 0, ZoneOffset.UTC);
+
+    private static final ObjectMapper MAPPER = new JacksonConfig().objectMapper();
+
+    private SyntheticData() {
+    }
+
+    static List<Map<String, Object>> rawPeople(int count) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> people = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> p = new LinkedHashMap<>();
+            p.put("name", name(random) + " " + i);
+            p.put("height", random.nextInt(20) == 0 ? "unknown" : String.valueOf(60 + random.nextInt(200)));
+            p.put("mass", mass(random));
+            p.put("hair_color", "brown");
+            p.put("skin_color", "fair");
+            p.put("eye_color", "blue");
+            p.put("birth_year", (random.nextInt(900) + 1) + "BBY");
+            p.put("gender", GENDERS[random.nextInt(GENDERS.length)]);
+            p.put("homeworld", "https://swapi.dev/api/planets/" + (1 + random.nextInt(60)) + "/");
+            p.put("films", urls("films", 1 + random.nextInt(4), random));
+            p.put("species", List.of());
+            p.put("vehicles", urls("vehicles", random.nextInt(2), random));
+            p.put("starships", urls("starships", random.nextInt(2), random));
+            p.put("created", EPOCH.plusSeconds(random.nextInt(10_000_000)).toString());
+            p.put("edited", EPOCH.plusSeconds(random.nextInt(10_000_000)).toString());
+            p.put("url", "https://swapi.dev/api/people/" + i + "/");
+            people.add(p);
+        }
+        return people;
+    }
+
+    static List<Map<String, Object>> rawPlanets(int count) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> planets = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> p = new LinkedHashMap<>();
+            p.put("name", name(random) + " " + i);
+            p.put("rotation_period", String.valueOf(10 + random.nextInt(30)));
+            p.put("orbital_period", String.valueOf(200 + random.nextInt(400)));
+            p.put("diameter", String.valueOf(random.nextInt(20_000)));
+            p.put("climate", CLIMATES[random.nextInt(CLIMATES.length)]);
+            p.put("gravity", "1 standard");
+            p.put("terrain", "desert");
+            p.put("surface_water", String.valueOf(random.nextInt(100)));
+            p.put("population", random.nextInt(8) == 0 ? "unknown" : String.valueOf(random.nextLong(1_000_000_000_000L)));
+            p.put("residents", urls("people", random.nextInt(5), random));
+            p.put("films", urls("films", 1 + random.nextInt(3), random));
+            p.put("created", EPOCH.plusSeconds(random.nextInt(10_000_000)).toString());
+            p.put("edited", EPOCH.plusSeconds(random.nextInt(10_000_000)).toString());
+            p.put("url", "https://swapi.dev/api/planets/" + i + "/");
+            planets.add(p);
+        }
+        return planets;
+    }
+
+    static List<PeopleDto> people(int count) {
+        return rawPeople(count).stream().map(p -> MAPPER.convertValue(p, PeopleDto.class)).toList();
+    }
+
+    static List<PlanetDto> planets(int count) {
+        return rawPlanets(count).stream().map(p -> MAPPER.convertValue(p, PlanetDto.class)).toList();
+    }
+
+    /** One SWAPI result page ({"count","next","previous","results"}) holding the given records. */
+    static byte[] swapiPage(List<Map<String, Object>> results) {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", results.size());
+        page.put("next", null);
+        page.put("previous", null);
+        page.put("results", results);
+        try {
+            return new ObjectMapper().writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The engine logs each sort at DEBUG; without Spring's logging setup that would dominate the numbers. */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static String mass(Random random) {
+        int roll = random.nextInt(10);
+        if (roll == 0) return "unknown";
+        int kg = 20 + random.nextInt(1_400);
+        return kg >= 1_000 ? (kg / 1_000) + "," + String.format("%03d", kg % 1_000) : String.valueOf(kg);
+    }
+
+    private static List<String> urls(String resource, int count, Random random) {
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            urls.add("https://swapi.dev/api/" + resource + "/" + (1 + random.nextInt(80)) + "/");
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,194 @@
+package com.starwars.backend.loadtest;
+
+import com.starwars.backend.BackEndApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test of the /api endpoints.
+ *
+ * Boots the application on a random port against a local SWAPI stand-in (or targets a running
+ * instance with --target), then runs each scenario at a fixed rate and prints coordinated-omission
+ * corrected response-time percentiles, service-time percentiles, throughput and error rate.
+ * Full HdrHistogram percentile distributions (.hgrm) and a summary.csv are written to --out.
+ *
+ * Options (all --key=value): scenarios (comma-separated, default every built-in except upstream-bound,
+ * which only runs when listed), paths (custom mix), rate (requests/s, default 200), connections (default 16),
+ * warmup (default PT10S), duration (default PT30S), upstream-latency (stand-in latency per SWAPI page,
+ * default PT0.05S), people / planets (stand-in dataset sizes, default 82 / 60), profiles (Spring profiles
+ * of the booted backend, e.g. virtual), properties (comma-separated key=value overrides for it),
+ * upstream-connections (its WebClient connection pool size, Reactor Netty's default when absent),
+ * request-timeout (per request, counted as an error when exceeded, default PT10S), target,
+ * out (default target/loadtest).
+ *
+ * Serving modes are compared by running the same scenario once per profile. With the upstream bulkhead,
+ * the concurrency limit and the upstream connection pool widened, upstream-bound keeps more requests waiting than Tomcat
+ * has platform workers: the default profile queues them, the virtual profile parks them. Compare the
+ * response-time percentiles and the peak platform thread count printed after each scenario.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "16"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Duration requestTimeout = Duration.parse(options.getOrDefault("request-timeout", "PT10S"));
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+        List<Scenario> scenarios = scenarios(options);
+
+        SwapiStandIn standIn = null;
+        ConfigurableApplicationContext app = null;
+        try {
+            String target = options.get("target");
+            if (target == null) {
+                if (options.containsKey("upstream-connections")) {
+                    // Read once when Reactor Netty creates its default pool, so it must be set before the boot
+                    System.setProperty("reactor.netty.pool.maxConnections", options.get("upstream-connections"));
+                }
+                standIn = new SwapiStandIn(
+                        Integer.parseInt(options.getOrDefault("people", "82")),
+                        Integer.parseInt(options.getOrDefault("planets", "60")),
+                        Duration.parse(options.getOrDefault("upstream-latency", "PT0.05S")));
+                List<String> appArgs = new ArrayList<>(List.of(
+                        "--server.port=0",
+                        "--swapi.base-url=" + standIn.baseUrl(),
+                        "--starwars.access-log.sample-rate=0",
+                        "--logging.level.com.starwars.backend=WARN"));
+                if (options.containsKey("profiles")) {
+                    appArgs.add("--spring.profiles.active=" + options.get("profiles"));
+                }
+                for (String property : options.getOrDefault("properties", "").split(",")) {
+                    if (!property.isBlank()) appArgs.add("--" + property.trim());
+                }
+                app = new SpringApplicationBuilder(BackEndApplication.class).run(appArgs.toArray(String[]::new));
+                target = "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ScenarioRunner runner = new ScenarioRunner(client, URI.create(target), rate, connections, requestTimeout);
+            System.out.printf("Target %s, %.0f req/s over %d connections, warm-up %s, duration %s%n",
+                    target, rate, connections, warmup, duration);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            List<ScenarioRunner.Result> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                System.out.printf("Running %s (%d paths)...%n", scenario.name(), scenario.paths().size());
+                threads.resetPeakThreadCount();
+                results.add(runner.run(scenario, warmup, duration));
+                if (app != null) {
+                    System.out.printf("  peak platform threads %d (backend and load generator)%n",
+                            threads.getPeakThreadCount());
+                }
+            }
+            report(results, System.out);
+            write(results, out);
+        } finally {
+            if (app != null) app.close();
+            if (standIn != null) standIn.close();
+        }
+    }
+
+    private static List<Scenario> scenarios(Map<String, String> options) {
+        if (options.containsKey("paths")) {
+            return List.of(Scenario.custom(options.get("paths")));
+        }
+        Map<String, Scenario> builtIn = Scenario.defaults();
+        String names = options.get("scenarios");
+        if (names == null) {
+            return List.copyOf(builtIn.values());
+        }
+        List<Scenario> selected = new ArrayList<>();
+        Map<String, Scenario> selectable = new LinkedHashMap<>(builtIn);
+        selectable.putAll(Scenario.optIn());
+        for (String name : names.split(",")) {
+            Scenario scenario = selectable.get(name.trim());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario '" + name + "', expected one of " + selectable.keySet());
+            }
+            selected.add(scenario);
+        }
+        return selected;
+    }
+
+    static void report(List<ScenarioRunner.Result> results, PrintStream out) {
+        out.printf("%n%-11s %9s %9s %7s  %-8s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "req/s", "errors", "latency", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "p99.99 ms", "max ms");
+        for (ScenarioRunner.Result r : results) {
+            out.printf("%-11s %9d %9.1f %6.2f%%  %-8s%s%n", r.scenario, r.requests, r.throughput(),
+                    r.errorRate() * 100, "response", percentiles(r.responseTime));
+            out.printf("%-11s %9s %9s %7s  %-8s%s%n", "", "", "", "", "service", percentiles(r.serviceTime));
+        }
+        out.println("response = from the scheduled send time (coordinated-omission corrected); service = from the actual send");
+    }
+
+    private static String percentiles(Histogram histogram) {
+        StringBuilder line = new StringBuilder();
+        for (double p : PERCENTILES) {
+            line.append(String.format(Locale.ROOT, " %9.2f", histogram.getValueAtPercentile(p) / 1e6));
+        }
+        return line.append(String.format(Locale.ROOT, " %9.2f", histogram.getMaxValue() / 1e6)).toString();
+    }
+
+    /** Writes one .hgrm per scenario and latency kind, plus a CSV summary for comparing runs. */
+    private static void write(List<ScenarioRunner.Result> results, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        StringBuilder csv = new StringBuilder("scenario,requests,throughput,error_rate,p50_ms,p90_ms,p99_ms,p999_ms,p9999_ms,max_ms\n");
+        for (ScenarioRunner.Result r : results) {
+            hgrm(r.responseTime, dir.resolve(r.scenario + "-response.hgrm"));
+            hgrm(r.serviceTime, dir.resolve(r.scenario + "-service.hgrm"));
+            csv.append(r.scenario).append(',').append(r.requests).append(',')
+                    .append(String.format(Locale.ROOT, "%.1f,%.5f,", r.throughput(), r.errorRate()))
+                    .append(percentiles(r.responseTime).trim().replaceAll("\\s+", ",")).append('\n');
+        }
+        Files.writeString(dir.resolve("summary.csv"), csv);
+        System.out.println("Histograms and summary.csv written to " + dir.toAbsolutePath());
+    }
+
+    private static void hgrm(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got '" + arg + "'");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,59 @@
+package com.starwars.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A named mix of request paths. Each request picks one path uniformly at random, so a path listed
+ * twice gets twice the traffic. {seq} in a path is replaced by a fixed-width number unique to the request.
+ */
+record Scenario(String name, List<String> paths) {
+
+    static final String SEQ = "{seq}";
+
+    /** Built-in scenarios, in the order they run by default. */
+    static Map<String, Scenario> defaults() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        add(scenarios, "hot-pages",
+                "/api/people", "/api/people", "/api/people", "/api/planets");
+        add(scenarios, "sorts",
+                "/api/people?sort=name&dir=desc", "/api/people?sort=height", "/api/people?sort=mass&dir=desc",
+                "/api/people?sort=created", "/api/people?sort=gender",
+                "/api/planets?sort=population&dir=desc", "/api/planets?sort=created");
+        add(scenarios, "search",
+                "/api/people?search=sky", "/api/people?search=da", "/api/people?search=ke&sort=mass",
+                "/api/planets?search=too", "/api/planets?search=or&sort=population");
+        add(scenarios, "deep-pages",
+                "/api/people?page=4", "/api/people?page=5&size=15&sort=height",
+                "/api/people?page=1&size=50", "/api/planets?page=3", "/api/planets?page=1&size=30&dir=desc");
+        List<String> mixed = new ArrayList<>();
+        scenarios.values().forEach(s -> mixed.addAll(s.paths()));
+        scenarios.put("mixed", new Scenario("mixed", List.copyOf(mixed)));
+        return scenarios;
+    }
+
+    /**
+     * Built-in scenarios that only run when selected with --scenarios.
+     *
+     * upstream-bound: every request searches a term no other request used, so each one waits on its own
+     * upstream crawl and holds its request thread for the stand-in latency. Run it alone and before anything
+     * caches the unfiltered dataset, which would answer every search locally (see SearchContainment).
+     */
+    static Map<String, Scenario> optIn() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        add(scenarios, "upstream-bound", "/api/people?search=q" + SEQ);
+        return scenarios;
+    }
+
+    /** A scenario from a comma-separated list of paths. */
+    static Scenario custom(String paths) {
+        return new Scenario("custom", Arrays.stream(paths.split(",")).map(String::trim).toList());
+    }
+
+    private static void add(Map<String, Scenario> scenarios, String name, String... paths) {
+        scenarios.put(name, new Scenario(name, List.of(paths)));
+    }
+}
@@ -0,0 +1,154 @@
+package com.starwars.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one scenario at a fixed request rate over a fixed number of connections.
+ *
+ * Each connection is a closed loop that issues its next request at the next slot of its own schedule
+ * (rate / connections per second). When a response is late, the following requests are not pushed back:
+ * they are sent as soon as possible and their latency is measured from the slot they were scheduled for.
+ * That is the coordinated-omission correction: a server stall shows up as the latency every queued-up
+ * user would have seen, not as one slow sample. Service time (send to response) is recorded separately.
+ * Every request has a timeout, so a backend that stops answering fails requests instead of hanging the run;
+ * a timed-out request counts as an error with the time it waited.
+ */
+final class ScenarioRunner {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final double rate;
+    private final int connections;
+    private final Duration requestTimeout;
+    private final AtomicLong sequence = new AtomicLong();
+
+    ScenarioRunner(HttpClient client, URI baseUri, double rate, int connections, Duration requestTimeout) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.rate = rate;
+        this.connections = connections;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /** Runs a discarded warm-up phase followed by the measured phase. */
+    Result run(Scenario scenario, Duration warmup, Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            drive(scenario, warmup);
+        }
+        return drive(scenario, duration);
+    }
+
+    private Result drive(Scenario scenario, Duration duration) throws InterruptedException {
+        long interval = (long) (1_000_000_000L * connections / rate);
+        long start = System.nanoTime() + 10_000_000L;
+        long end = start + duration.toNanos();
+
+        List<Future<Result>> workers = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                long offset = interval * c / connections;
+                workers.add(executor.submit(() -> loop(scenario, start + offset, end, interval)));
+            }
+        }
+
+        Result total = new Result(scenario.name(), duration);
+        for (Future<Result> worker : workers) {
+            try {
+                total.add(worker.get());
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        return total;
+    }
+
+    private Result loop(Scenario scenario, long first, long end, long interval) {
+        Result result = new Result(scenario.name(), Duration.ZERO);
+        for (long intended = first; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String path = scenario.paths().get(ThreadLocalRandom.current().nextInt(scenario.paths().size()));
+            if (path.contains(Scenario.SEQ)) {
+                // Equal width, so no term contains another and none can be derived from a cached one
+                path = path.replace(Scenario.SEQ, String.format("%010d", sequence.getAndIncrement()));
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Accept", "application/json")
+                    .timeout(requestTimeout)
+                    .GET()
+                    .build();
+            long sent = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (HttpTimeoutException e) {
+                // Recorded below with the time waited up to the timeout
+                ok = false;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long done = System.nanoTime();
+            result.record(done - intended, done - sent, ok);
+        }
+        return result;
+    }
+
+    /** Latency histograms (nanoseconds) and counts of one scenario run. */
+    static final class Result {
+        final String scenario;
+        final Duration duration;
+        final Histogram responseTime = new Histogram(3);
+        final Histogram serviceTime = new Histogram(3);
+        long requests;
+        long errors;
+
+        Result(String scenario, Duration duration) {
+            this.scenario = scenario;
+            this.duration = duration;
+        }
+
+        void record(long responseNanos, long serviceNanos, boolean ok) {
+            responseTime.recordValue(responseNanos);
+            serviceTime.recordValue(serviceNanos);
+            requests++;
+            if (!ok) errors++;
+        }
+
+        void add(Result other) {
+            responseTime.add(other.responseTime);
+            serviceTime.add(other.serviceTime);
+            requests += other.requests;
+            errors += other.errors;
+        }
+
+        double throughput() {
+            return requests / (duration.toNanos() / 1e9);
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.starwars.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for SWAPI: serves /api/people/ and /api/planets/ in SWAPI's paged format
+ * (10 results per page, "next" links, name search), with a fixed artificial latency per page.
+ * Load tests point swapi.base-url here so they measure the backend, not the public API.
+ */
+final class SwapiStandIn implements AutoCloseable {
+
+    private static final int PAGE_SIZE = 10;
+    private static final String[] SYLLABLES = {"lu", "ke", "sky", "wal", "ker", "dar", "th", "va", "der",
+            "le", "ia", "or", "ga", "na", "han", "so", "lo", "ob", "i", "wan", "ken", "yo", "da", "too", "ine"};
+    private static final String[] GENDERS = {"male", "female", "n/a", "hermaphrodite", "none"};
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2014, 12, 9, 13, 50, 51, 0, ZoneOffset.UTC);
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final Map<String, List<String>> records = new HashMap<>();
+
+    SwapiStandIn(int people, int planets, Duration latency) throws IOException {
+        this.latency = latency;
+        Random random = new Random(42);
+        records.put("people", people(people, random));
+        records.put("planets", planets(planets, random));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            List<String> all = path.length > 2 ? records.get(path[2]) : null;
+            if (all == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String search = query.getOrDefault("search", "").toLowerCase(Locale.ROOT);
+            int page = Integer.parseInt(query.getOrDefault("page", "1"));
+
+            List<String> matching = search.isEmpty() ? all : all.stream()
+                    .filter(json -> nameOf(json).toLowerCase(Locale.ROOT).contains(search))
+                    .toList();
+            int from = Math.min((page - 1) * PAGE_SIZE, matching.size());
+            int to = Math.min(from + PAGE_SIZE, matching.size());
+            String next = to < matching.size()
+                    ? '"' + baseUrl() + "/" + path[2] + "/?page=" + (page + 1)
+                        + (search.isEmpty() ? "" : "&search=" + search) + '"'
+                    : "null";
+            String body = "{\"count\":" + matching.size() + ",\"next\":" + next + ",\"previous\":null,\"results\":["
+                    + String.join(",", matching.subList(from, to)) + "]}";
+
+            Thread.sleep(latency);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> people(int count, Random random) {
+        List<String> people = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int kg = 20 + random.nextInt(1_400);
+            people.add("{\"name\":\"" + name(random) + "\",\"height\":\"" + (60 + random.nextInt(200))
+                    + "\",\"mass\":\"" + (random.nextInt(10) == 0 ? "unknown" : kg >= 1_000
+                        ? kg / 1_000 + "," + String.format("%03d", kg % 1_000) : String.valueOf(kg))
+                    + "\",\"gender\":\"" + GENDERS[random.nextInt(GENDERS.length)]
+                    + "\",\"birth_year\":\"" + (1 + random.nextInt(900)) + "BBY"
+                    + "\",\"films\":[\"https://swapi.dev/api/films/1/\"]"
+                    + ",\"created\":\"" + EPOCH.plusSeconds(random.nextInt(10_000_000))
+                    + "\",\"edited\":\"" + EPOCH
+                    + "\",\"url\":\"https://swapi.dev/api/people/" + i + "/\"}");
+        }
+        return people;
+    }
+
+    private static List<String> planets(int count, Random random) {
+        List<String> planets = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            planets.add("{\"name\":\"" + name(random) + "\",\"climate\":\"arid\",\"terrain\":\"desert\""
+                    + ",\"population\":\"" + (random.nextInt(8) == 0 ? "unknown"
+                        : String.valueOf(random.nextLong(1_000_000_000_000L)))
+                    + "\",\"residents\":[],\"films\":[\"https://swapi.dev/api/films/1/\"]"
+                    + ",\"created\":\"" + EPOCH.plusSeconds(random.nextInt(10_000_000))
+                    + "\",\"edited\":\"" + EPOCH
+                    + "\",\"url\":\"https://swapi.dev/api/planets/" + i + "/\"}");
+        }
+        return planets;
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static String nameOf(String json) {
+        int start = json.indexOf("\"name\":\"") + 8;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,169 @@
+package com.starwars.backend.api;
+
+import com.starwars.backend.util.RequestStages;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structured access log for the /api endpoints: one JSON line per request on the "access" logger,
+ * with method, path, query, status, response size, total latency and the per-stage breakdown
+ * collected in {@link RequestStages}.
+ *
+ * Only a sample of requests is written (starwars.access-log.sample-rate, 0..1); requests slower than
+ * starwars.access-log.slow-threshold and server errors are always written. The decision is made before
+ * the line is built, so unsampled requests cost two clock reads. logback-spring.xml routes the logger
+ * through a non-blocking async appender, so the request thread never waits on console or disk I/O.
+ * Async requests (exports, change feed) are written when they complete.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "starwars.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "access";
+
+    private static final Logger ACCESS = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double sampleRate;
+    private final long slowNanos;
+
+    public AccessLogFilter(@Value("${starwars.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${starwars.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStages stages = RequestStages.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStages.close();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, response, stages, start));
+            } else {
+                record(request, response, stages, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStages stages, long start) {
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatus();
+        boolean slow = elapsed >= slowNanos;
+        if (!ACCESS.isInfoEnabled()
+                || !(slow || status >= 500 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return;
+        }
+        ACCESS.info(format(request, response, stages, elapsed, slow));
+    }
+
+    static String format(HttpServletRequest request, HttpServletResponse response, RequestStages stages,
+                         long elapsedNanos, boolean slow) {
+        StringBuilder line = new StringBuilder(256)
+                .append("{\"ts\":\"").append(Instant.now())
+                .append("\",\"method\":\"").append(request.getMethod())
+                .append("\",\"path\":");
+        quote(line, request.getRequestURI());
+        line.append(",\"query\":");
+        quote(line, request.getQueryString());
+        line.append(",\"status\":").append(response.getStatus());
+        String length = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (length != null) {
+            line.append(",\"bytes\":").append(length);
+        }
+        line.append(",\"latencyMs\":").append(millis(elapsedNanos)).append(",\"stages\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> stage : stages.nanos().entrySet()) {
+            if (!first) line.append(',');
+            line.append('"').append(stage.getKey()).append("\":").append(millis(stage.getValue()));
+            first = false;
+        }
+        return line.append("},\"slow\":").append(slow).append('}').toString();
+    }
+
+    /** Milliseconds with microsecond resolution. */
+    private static String millis(long nanos) {
+        return String.valueOf(Math.round(nanos / 1_000.0) / 1_000.0);
+    }
+
+    private static void quote(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    /** Writes the line for an async request once the container completes it. */
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final RequestStages stages;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, RequestStages stages, long start) {
+            this.request = request;
+            this.response = response;
+            this.stages = stages;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response, stages, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
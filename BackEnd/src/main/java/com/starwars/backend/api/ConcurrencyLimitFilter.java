@@ -0,0 +1,186 @@
+package com.starwars.backend.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.ResponseFormat;
+import com.starwars.backend.service.PageResponseCache;
+import com.starwars.backend.util.GradientLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Adaptive concurrency limit and load shedding for the page endpoints (/api/people, /api/planets, /api/batch).
+ *
+ * The number of requests allowed in flight follows {@link GradientLimit}: it grows while latency holds
+ * and shrinks as soon as latency rises. A request over the limit gets an immediate 503 with Retry-After
+ * instead of queueing behind work the service cannot keep up with.
+ *
+ * Requests whose page is already serialized for the current snapshot ({@link PageResponseCache#isCached})
+ * are only a map lookup and a write, so they get priority: when the limit is reached they are still
+ * admitted up to starwars.concurrency.max-limit. Only single-page requests admitted under the regular
+ * limit feed latency samples: the cheap priority traffic would drag the baseline down, and a batch of up to
+ * 50 queries takes many times longer than a page, so it holds a slot but its latency is not sampled.
+ *
+ * Exports and the change feed are long-lived streams and are not limited. The filter runs inside
+ * AccessLogFilter, so shed requests still get an access-log line. Current limit, in-flight requests,
+ * rejections and priority admissions are published as starwars.concurrency.*.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "starwars.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final GradientLimit limit;
+    private final PageResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final Counter rejections;
+    private final Counter priorityAdmissions;
+
+    /**
+     * Page cache and registry are optional so MVC slice tests, which have neither, still load the filter:
+     * without the cache nothing gets priority, without the registry meters go to the global registry.
+     */
+    @Autowired
+    public ConcurrencyLimitFilter(ObjectProvider<PageResponseCache> responseCache,
+                                  ObjectMapper objectMapper,
+                                  ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${starwars.concurrency.initial-limit:50}") int initialLimit,
+                                  @Value("${starwars.concurrency.min-limit:8}") int minLimit,
+                                  @Value("${starwars.concurrency.max-limit:500}") int maxLimit,
+                                  @Value("${starwars.concurrency.tolerance:2.0}") double tolerance,
+                                  @Value("${starwars.concurrency.smoothing:0.2}") double smoothing,
+                                  @Value("${starwars.concurrency.retry-after:1s}") Duration retryAfter) {
+        this(new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing),
+                responseCache.getIfAvailable(), objectMapper,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), retryAfter);
+    }
+
+    ConcurrencyLimitFilter(GradientLimit limit, PageResponseCache responseCache, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry, Duration retryAfter) {
+        this.limit = limit;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        Gauge.builder("starwars.concurrency.limit", limit, GradientLimit::limit)
+                .description("Current adaptive concurrency limit for /api page requests")
+                .register(meterRegistry);
+        Gauge.builder("starwars.concurrency.inflight", limit, GradientLimit::inFlight)
+                .description("Page requests currently in flight")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("starwars.concurrency.rejections")
+                .description("Page requests shed with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+        this.priorityAdmissions = Counter.builder("starwars.concurrency.priority")
+                .description("Requests for already-serialized pages admitted above the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !(path.equals("/api/people") || path.equals("/api/planets") || path.equals("/api/batch"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (limit.tryAcquire(limit.limit())) {
+            boolean sampled = !request.getRequestURI().equals("/api/batch");
+            long start = System.nanoTime();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (sampled) {
+                    limit.release(System.nanoTime() - start);
+                } else {
+                    limit.release();
+                }
+            }
+            return;
+        }
+        if (isCachedPage(request) && limit.tryAcquire(limit.maxLimit())) {
+            priorityAdmissions.increment();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                limit.release();
+            }
+            return;
+        }
+        reject(request, response);
+    }
+
+    /** Resolves the request to its PageQuery the way SwController does and checks the page cache. */
+    private boolean isCachedPage(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        Class<?> type = path.equals("/api/people") ? PeopleDto.class
+                : path.equals("/api/planets") ? PlanetDto.class : null;
+        if (responseCache == null || type == null || !"GET".equals(request.getMethod())) {
+            return false;
+        }
+        try {
+            PageQuery query = PageQuery.of(path.substring("/api/".length()),
+                    intParam(request, "page", 0),
+                    intParam(request, "size", 15),
+                    request.getParameter("search"),
+                    request.getParameter("sort"),
+                    request.getParameter("dir"),
+                    responseCache.fieldSet(type, request.getParameter("fields")),
+                    ResponseFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT)));
+            return responseCache.isCached(query);
+        } catch (RuntimeException e) {
+            // Malformed parameters are the controller's to report; here they just mean "not cached"
+            return false;
+        }
+    }
+
+    private static int intParam(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejections.increment();
+        log.debug("{} {} -> 503 shed (limit {}, in flight {})",
+                request.getMethod(), request.getRequestURI(), limit.limit(), limit.inFlight());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(OffsetDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message("Server is at capacity. Please retry later.")
+                .path(request.getRequestURI())
+                .build());
+    }
+}
@@ -2,6 +2,7 @@ package com.starwars.backend.api;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
@@ -25,10 +26,12 @@ import java.util.List;
  * Global exception handler for REST controllers.
  * Ensures consistent error response format across all endpoints.
  * Uses appropriate log levels: warnings for 4xx errors, errors for 5xx.
+ * Servlet stack only; the reactive mode uses ReactiveExceptionHandler.
  */
 @Slf4j
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     // Catch Spring exceptions that already carry an HTTP status.
@@ -126,9 +129,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(base(status, message, req).build());
     }
 
-    // Handles any unexpected errors (last resort)
+    // Handles any unexpected errors (last resort); failed SWAPI calls are reported as 502
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest req) {
+        if (UpstreamFailure.causedBy(ex)) {
+            HttpStatus status = HttpStatus.BAD_GATEWAY;
+            log.error("{} {} -> 502 {}", req.getMethod(), req.getRequestURI(), ex.getMessage(), ex);
+            return ResponseEntity.status(status).body(base(status, UpstreamFailure.MESSAGE, req).build());
+        }
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
 
         // Log full stack trace for debugging, but keep response generic
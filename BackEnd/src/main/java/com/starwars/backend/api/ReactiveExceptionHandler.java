@@ -0,0 +1,62 @@
+package com.starwars.backend.api;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Exception handler for the reactive (WebFlux) serving mode.
+ * Produces the same ErrorResponse shape as GlobalExceptionHandler does on the servlet stack.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    // Spring exceptions that already carry a status (also covers 400s for bad parameters)
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleStatusException(ResponseStatusException ex, ServerHttpRequest req) {
+        HttpStatusCode status = ex.getStatusCode();
+        String message = (ex.getReason() != null && !ex.getReason().isBlank()) ? ex.getReason() : ex.getMessage();
+        if (status.is5xxServerError()) {
+            log.error("{} {} -> {} {}", req.getMethod(), req.getPath(), status.value(), message, ex);
+        } else {
+            log.warn("{} {} -> {} {}", req.getMethod(), req.getPath(), status.value(), message);
+        }
+        return ResponseEntity.status(status).body(body(status, message, req));
+    }
+
+    // Last resort, mirrors the servlet handler's 502 for failed SWAPI calls and generic 500 otherwise
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, ServerHttpRequest req) {
+        if (UpstreamFailure.causedBy(ex)) {
+            HttpStatus status = HttpStatus.BAD_GATEWAY;
+            log.error("{} {} -> 502 {}", req.getMethod(), req.getPath(), ex.getMessage(), ex);
+            return ResponseEntity.status(status).body(body(status, UpstreamFailure.MESSAGE, req));
+        }
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        log.error("{} {} -> 500 Internal server error: {}", req.getMethod(), req.getPath(), ex.getMessage(), ex);
+        return ResponseEntity.status(status).body(body(status, "Internal server error. Please try again later.", req));
+    }
+
+    private static ErrorResponse body(HttpStatusCode status, String message, ServerHttpRequest req) {
+        return ErrorResponse.builder()
+                .timestamp(OffsetDateTime.now())
+                .status(status.value())
+                .error(status instanceof HttpStatus hs ? hs.getReasonPhrase() : status.toString())
+                .message(message)
+                .path(req.getPath().value())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.starwars.backend.api;
+
+import org.springframework.web.reactive.function.client.WebClientException;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Recognizes failures of the SWAPI call itself (connection refused, upstream error status, upstream timeout),
+ * so both exception handlers answer them with the same 502 instead of a generic 500. The blocking path
+ * receives them wrapped (Reactor's block(), the crawl future), so the whole cause chain is checked.
+ */
+final class UpstreamFailure {
+
+    static final String MESSAGE = "Upstream service unavailable. Please try again later.";
+
+    private UpstreamFailure() {
+    }
+
+    static boolean causedBy(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof WebClientException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+package com.starwars.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.service.SnapshotChangedEvent;
+import com.starwars.backend.service.SnapshotVersionService;
+import com.starwars.backend.service.SwCacheService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the replicas on the same dataset snapshots.
+ *
+ * Whenever this node sees a dataset change version (a {@link SnapshotChangedEvent}), it announces the new version
+ * on the cluster transport. A node that receives an announcement for a dataset it holds at a different version
+ * acts on it only when the shared tier is enabled: it drops its local copy and reloads it in the background,
+ * which reads the announced snapshot from L2 instead of crawling SWAPI. The reload publishes the usual change
+ * event locally (ETags, change feed), and announcing a version the others already hold is a no-op for them, so
+ * the exchange settles after one round.
+ *
+ * Without the shared tier a reload would be a full SWAPI crawl per replica per announcement, so the local copy
+ * is only marked stale: it keeps being served until it expires and is reloaded as usual, and the number of
+ * stale datasets is published as starwars.cluster.stale.
+ */
+@Slf4j
+public class ClusterSnapshotSync {
+
+    private static final ObjectMapper CODEC = new ObjectMapper();
+
+    private final ClusterTransport transport;
+    private final SwCacheService cacheService;
+    private final SnapshotVersionService versions;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final boolean sharedTier;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** Datasets with a reload in progress, so a burst of announcements triggers one reload. */
+    private final Set<String> adopting = ConcurrentHashMap.newKeySet();
+
+    /** Without the shared tier: datasets another node announced a different version of -> that version. */
+    private final Map<String, String> stale = new ConcurrentHashMap<>();
+
+    public ClusterSnapshotSync(ClusterTransport transport, SwCacheService cacheService, SnapshotVersionService versions,
+                               CacheManager cacheManager, MeterRegistry meterRegistry, boolean sharedTier) {
+        this.transport = transport;
+        this.cacheService = cacheService;
+        this.versions = versions;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.sharedTier = sharedTier;
+        Gauge.builder("starwars.cluster.stale", stale, Map::size)
+                .description("Local datasets another replica announced a different version of")
+                .register(meterRegistry);
+        transport.subscribe(this::onMessage);
+    }
+
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        stale.remove(event.datasetKey());
+        try {
+            transport.publish(CODEC.writeValueAsBytes(
+                    new Announcement(nodeId, event.resource(), event.searchKey(), event.version())));
+            meterRegistry.counter("starwars.cluster.announcements", "direction", "sent").increment();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not announce {} {}: {}", event.datasetKey(), event.version(), e.toString());
+        }
+    }
+
+    void onMessage(byte[] message) {
+        Announcement announcement;
+        try {
+            announcement = CODEC.readValue(message, Announcement.class);
+        } catch (IOException e) {
+            log.debug("Ignoring malformed cluster message", e);
+            return;
+        }
+        if (nodeId.equals(announcement.node())) {
+            return;
+        }
+        meterRegistry.counter("starwars.cluster.announcements", "direction", "received").increment();
+
+        String current = versions.currentVersion(announcement.resource(), announcement.searchKey());
+        if (announcement.version().equals(current)) {
+            return;
+        }
+        Cache local = cacheManager.getCache(announcement.resource() + "All");
+        if (local == null) {
+            return;
+        }
+        if (!sharedTier) {
+            if (current != null && !announcement.version().equals(stale.put(announcement.datasetKey(),
+                    announcement.version()))) {
+                log.info("{} is at {} here, node {} announced {}; serving it until it expires",
+                        announcement.datasetKey(), current, announcement.node(), announcement.version());
+            }
+            return;
+        }
+        local.evict(announcement.searchKey());
+        // Datasets this node never served stay evicted; they are loaded on first request as usual
+        if (current != null && adopting.add(announcement.datasetKey())) {
+            Thread.ofVirtual().name("cluster-adopt-" + announcement.datasetKey()).start(() -> adopt(announcement));
+        }
+    }
+
+    private void adopt(Announcement announcement) {
+        try {
+            String search = "ALL".equals(announcement.searchKey()) ? null : announcement.searchKey();
+            List<?> snapshot = "people".equals(announcement.resource())
+                    ? cacheService.loadAllPeople(search)
+                    : cacheService.loadAllPlanets(search);
+            String version = versions.versionOf(announcement.resource(), announcement.searchKey(), snapshot);
+            meterRegistry.counter("starwars.cluster.adoptions", "resource", announcement.resource(),
+                    "outcome", version.equals(announcement.version()) ? "matched" : "diverged").increment();
+            log.info("Adopted {} from node {}: announced {}, now at {}",
+                    announcement.datasetKey(), announcement.node(), announcement.version(), version);
+        } catch (RuntimeException e) {
+            log.warn("Could not reload {} after announcement: {}", announcement.datasetKey(), e.toString());
+        } finally {
+            adopting.remove(announcement.datasetKey());
+        }
+    }
+
+    /** Wire format: one small JSON object per datagram. */
+    record Announcement(String node, String resource, String searchKey, String version) {
+        String datasetKey() {
+            return resource + ":" + searchKey;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.starwars.backend.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Best-effort broadcast channel between backend instances. Messages are small and may be lost or
+ * duplicated; receivers must treat them as hints. Implementations deliver a node's own messages back
+ * to it or not, so receivers also filter by sender.
+ */
+public interface ClusterTransport extends AutoCloseable {
+
+    void publish(byte[] message);
+
+    /** Registers the receiver of every message from other nodes; called once, before any traffic. */
+    void subscribe(Consumer<byte[]> receiver);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,45 @@
+package com.starwars.backend.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * ClusterTransport between instances in the same JVM, for tests and local development.
+ * Instances created with the same channel name see each other's messages; delivery is asynchronous,
+ * on a virtual thread, like a message arriving from the network.
+ */
+public class InProcessTransport implements ClusterTransport {
+
+    private static final ConcurrentMap<String, Set<InProcessTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<byte[]> receiver;
+
+    public InProcessTransport(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(this);
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        for (InProcessTransport peer : CHANNELS.getOrDefault(channel, Set.of())) {
+            Consumer<byte[]> peerReceiver = peer.receiver;
+            if (peer != this && peerReceiver != null) {
+                Thread.ofVirtual().start(() -> peerReceiver.accept(message.clone()));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.getOrDefault(channel, Set.of()).remove(this);
+    }
+}
@@ -0,0 +1,23 @@
+package com.starwars.backend.cache;
+
+import java.time.Duration;
+
+/**
+ * Minimal key-value contract of the shared (L2) cache tier: binary values with a TTL and a
+ * lease-style lock. Implemented over Redis for real deployments and in memory for tests.
+ * Implementations may throw RuntimeException when the store is unreachable; callers treat the
+ * tier as optional and fall back to loading upstream.
+ */
+public interface L2Store {
+
+    /** The value stored under key, or null when absent or expired. */
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    /** Takes the lock when nobody holds it; it is released by {@link #unlock} or when ttl elapses. */
+    boolean tryLock(String key, String owner, Duration ttl);
+
+    /** Releases the lock only if it is still held by owner, so an expired lease cannot free someone else's. */
+    void unlock(String key, String owner);
+}
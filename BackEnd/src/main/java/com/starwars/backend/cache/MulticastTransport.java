@@ -0,0 +1,98 @@
+package com.starwars.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * ClusterTransport over UDP multicast, for replicas on one network segment without a broker.
+ * Every message is a single datagram; a receiver thread (virtual) hands them to the subscriber.
+ */
+@Slf4j
+public class MulticastTransport implements ClusterTransport {
+
+    /** Announcements are a few hundred bytes; anything larger is not ours. */
+    private static final int MAX_DATAGRAM = 8 * 1024;
+
+    private final MulticastSocket socket;
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private volatile Consumer<byte[]> receiver;
+
+    /**
+     * @param networkInterface interface to join the group on, or null for the system default
+     */
+    public MulticastTransport(String groupAddress, int port, NetworkInterface networkInterface, int ttl) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.networkInterface = networkInterface;
+            this.socket = new MulticastSocket(port);
+            socket.setTimeToLive(ttl);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not join multicast group " + groupAddress + ":" + port, e);
+        }
+        Thread.ofVirtual().name("cluster-multicast-receiver").start(this::receive);
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        try {
+            socket.send(new DatagramPacket(message, message.length, group));
+        } catch (IOException e) {
+            log.warn("Could not send cluster message to {}: {}", group, e.toString());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException e) {
+            log.debug("Leaving multicast group failed", e);
+        }
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Cluster receive failed: {}", e.toString());
+                continue;
+            }
+            Consumer<byte[]> current = receiver;
+            if (current != null) {
+                try {
+                    current.accept(Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength()));
+                } catch (RuntimeException e) {
+                    log.warn("Cluster message handling failed", e);
+                }
+            }
+        }
+    }
+}
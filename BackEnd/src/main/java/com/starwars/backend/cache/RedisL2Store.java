@@ -0,0 +1,83 @@
+package com.starwars.backend.cache;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * L2Store over any Redis-protocol server (Redis, Valkey, KeyDB...) through one shared, thread-safe
+ * Lettuce connection. Locks are SET NX PX leases released by a compare-and-delete script.
+ * The connection is opened on first use, so an unreachable server at startup only disables the tier
+ * until it comes back instead of failing the application; Lettuce reconnects on its own afterwards.
+ */
+public class RedisL2Store implements L2Store, AutoCloseable {
+
+    private static final String UNLOCK_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    private final RedisClient client;
+    private final ReentrantLock connecting = new ReentrantLock();
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+
+    public RedisL2Store(String uri, Duration timeout) {
+        RedisURI redisUri = RedisURI.create(uri);
+        redisUri.setTimeout(timeout);
+        this.client = RedisClient.create(redisUri);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return commands().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        commands().set(key, value, SetArgs.Builder.px(ttl));
+    }
+
+    @Override
+    public boolean tryLock(String key, String owner, Duration ttl) {
+        return "OK".equals(commands().set(key, owner.getBytes(StandardCharsets.UTF_8), SetArgs.Builder.nx().px(ttl)));
+    }
+
+    @Override
+    public void unlock(String key, String owner) {
+        commands().eval(UNLOCK_SCRIPT, ScriptOutputType.INTEGER, new String[]{key}, owner.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    private RedisCommands<String, byte[]> commands() {
+        StatefulRedisConnection<String, byte[]> current = connection;
+        if (current == null) {
+            connecting.lock();
+            try {
+                if (connection == null) {
+                    connection = client.connect(CODEC);
+                }
+                current = connection;
+            } finally {
+                connecting.unlock();
+            }
+        }
+        return current.sync();
+    }
+}
@@ -0,0 +1,182 @@
+package com.starwars.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Shared second cache tier between backend replicas, behind each replica's Caffeine cache.
+ *
+ * A dataset snapshot is stored once per content version ({@code starwars:snapshot:<resource>:<search>:v:<version>})
+ * and a small pointer key names the current version, so a replica with a cold L1 reads the latest snapshot
+ * in two round-trips instead of crawling SWAPI. On an L2 miss, replicas race for a lease lock; the winner
+ * crawls and publishes, the others poll L2 until the snapshot shows up (or the lease frees up and one of them
+ * takes over). Every L2 failure degrades to a local crawl: the tier can make loads cheaper but never fails them.
+ *
+ * Lookups are counted in starwars.l2.lookups (tags resource, result = hit, miss, waited, error).
+ */
+@Slf4j
+public class SharedSnapshotTier {
+
+    private static final String PREFIX = "starwars:snapshot:";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    /** Snapshot codec independent of the HTTP mapper, whose date format is display-only and does not round-trip. */
+    private static final ObjectMapper CODEC = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final L2Store store;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final String owner = UUID.randomUUID().toString();
+
+    public SharedSnapshotTier(L2Store store, MeterRegistry meterRegistry, Duration ttl, Duration lockTtl,
+                              Duration lockWait) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+    }
+
+    /**
+     * Returns the shared snapshot of the dataset, or crawls it (at most one replica at a time) and shares it.
+     */
+    public <T> List<T> load(String resource, String searchKey, Class<T> type, Supplier<List<T>> crawl) {
+        String dataset = resource + ":" + searchKey;
+        boolean locked;
+        try {
+            List<T> shared = read(dataset, type);
+            if (shared != null) {
+                count(resource, "hit");
+                return shared;
+            }
+            long deadline = System.nanoTime() + lockWait.toNanos();
+            while (!(locked = store.tryLock(lockKey(dataset), owner, lockTtl))) {
+                if (System.nanoTime() - deadline >= 0) {
+                    log.warn("Gave up waiting for another replica to load '{}'; crawling locally", dataset);
+                    break;
+                }
+                Thread.sleep(POLL_INTERVAL);
+                shared = read(dataset, type);
+                if (shared != null) {
+                    count(resource, "waited");
+                    return shared;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shared snapshot of " + dataset, e);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Shared cache unavailable for '{}', crawling locally: {}", dataset, e.toString());
+            count(resource, "error");
+            return crawl.get();
+        }
+        count(resource, "miss");
+        return locked ? crawlAndPublish(dataset, type, crawl) : crawl.get();
+    }
+
+    /** Current version of the dataset in L2, or null when no replica has published it (or it expired). */
+    public String currentVersion(String resource, String searchKey) {
+        byte[] version = store.get(pointerKey(resource + ":" + searchKey));
+        return version == null ? null : new String(version, StandardCharsets.UTF_8);
+    }
+
+    /** Runs with the lock held. Crawl failures propagate; failing to publish only costs the other replicas a crawl. */
+    private <T> List<T> crawlAndPublish(String dataset, Class<T> type, Supplier<List<T>> crawl) {
+        try {
+            // Another replica may have published between our miss and taking the lock
+            List<T> shared = readQuietly(dataset, type);
+            if (shared != null) {
+                return shared;
+            }
+            List<T> crawled = crawl.get();
+            if (!crawled.isEmpty()) {
+                try {
+                    publish(dataset, crawled);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not publish '{}' to the shared cache: {}", dataset, e.toString());
+                }
+            }
+            return crawled;
+        } finally {
+            try {
+                store.unlock(lockKey(dataset), owner);
+            } catch (RuntimeException e) {
+                log.debug("Could not release lock for '{}'; it expires on its own", dataset, e);
+            }
+        }
+    }
+
+    private <T> List<T> readQuietly(String dataset, Class<T> type) {
+        try {
+            return read(dataset, type);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void publish(String dataset, List<?> snapshot) throws IOException {
+        byte[] bytes = CODEC.writeValueAsBytes(snapshot);
+        String version = version(bytes);
+        // The snapshot outlives its pointer, so a reader that just saw the pointer still finds the data
+        store.put(dataKey(dataset, version), bytes, ttl.plus(lockTtl));
+        store.put(pointerKey(dataset), version.getBytes(StandardCharsets.UTF_8), ttl);
+        log.info("Published '{}' version {} to the shared cache ({} items, {} bytes)",
+                dataset, version, snapshot.size(), bytes.length);
+    }
+
+    private <T> List<T> read(String dataset, Class<T> type) throws IOException {
+        byte[] version = store.get(pointerKey(dataset));
+        if (version == null) {
+            return null;
+        }
+        byte[] bytes = store.get(dataKey(dataset, new String(version, StandardCharsets.UTF_8)));
+        if (bytes == null) {
+            return null;
+        }
+        return List.copyOf(CODEC.readValue(bytes, CODEC.getTypeFactory().constructCollectionType(List.class, type)));
+    }
+
+    private void count(String resource, String result) {
+        meterRegistry.counter("starwars.l2.lookups", "resource", resource, "result", result).increment();
+    }
+
+    private static String pointerKey(String dataset) {
+        return PREFIX + dataset + ":current";
+    }
+
+    private static String dataKey(String dataset, String version) {
+        return PREFIX + dataset + ":v:" + version;
+    }
+
+    private static String lockKey(String dataset) {
+        return PREFIX + dataset + ":lock";
+    }
+
+    /** First 64 bits of the SHA-256 of the serialized snapshot, hex encoded. */
+    private static String version(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
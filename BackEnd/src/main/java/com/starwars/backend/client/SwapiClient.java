@@ -1,8 +1,12 @@
 package com.starwars.backend.client;
 
+import com.starwars.backend.jfr.UpstreamFetchEvent;
 import com.starwars.backend.model.PeopleDto;
 import com.starwars.backend.model.PlanetDto;
 import com.starwars.backend.model.SwapiPagedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -15,6 +19,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -22,6 +27,8 @@ import java.util.function.Supplier;
  * HTTP client for Star Wars API integration.
  * Handles paginated responses with fallback to flat array endpoints when needed.
  * Supports both People and Planets resources with consistent error handling.
+ * Records crawl duration, pages fetched and fallbacks taken per resource; per-request latency and
+ * response bytes are recorded by UpstreamMetricsFilter on the WebClient itself.
  */
 @Slf4j
 @Service
@@ -35,6 +42,7 @@ public class SwapiClient {
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
 
     private final WebClient swapiWebClient;
+    private final MeterRegistry meterRegistry;
 
     // ---------- PEOPLE ----------
 
@@ -72,6 +80,7 @@ public class SwapiClient {
     public Mono<List<PeopleDto>> fetchAllPeople(String search) {
         log.info("Fetching all people data (search: '{}')", search);
         return fetchAll(
+                "people",
                 search,
                 page -> fetchPeoplePage(page, search),
                 this::fetchPeopleByAbsoluteUrl,
@@ -129,6 +138,7 @@ public class SwapiClient {
     public Mono<List<PlanetDto>> fetchAllPlanets(String search) {
         log.info("Fetching all planets data (search: '{}')", search);
         return fetchAll(
+                "planets",
                 search,
                 page -> fetchPlanetsPage(page, search),
                 this::fetchPlanetsByAbsoluteUrl,
@@ -160,41 +170,90 @@ public class SwapiClient {
      * Follows 'next' links until exhausted with safety limits
      * Falls back to flat array endpoint on pagination failures
      */
-    private <T> Mono<List<T>> fetchAll(String search,
+    private <T> Mono<List<T>> fetchAll(String resource,
+                                       String search,
                                        Function<Integer, Mono<SwapiPagedResponse<T>>> firstPageFetcher,
                                        Function<String, Mono<SwapiPagedResponse<T>>> byUrlFetcher,
                                        Supplier<Mono<List<T>>> flatArrayFallback) {
 
-        return firstPageFetcher.apply(1)
-                .doOnNext(resp -> log.debug("Retrieved page 1: {} items, next: {}", safeSize(resp), resp.getNext()))
-                .expand(resp -> {
-                    String next = resp.getNext();
-                    if (next == null) {
-                        log.debug("Pagination complete");
-                        return Mono.empty();
-                    }
-                    String normalized = normalizeNext(next);
-                    log.debug("Fetching next page: '{}' -> '{}'", next, normalized);
-                    return byUrlFetcher.apply(normalized)
-                            .doOnNext(r -> log.debug("Retrieved page: {} items, next: {}", safeSize(r), r.getNext()));
-                })
-                .take(MAX_PAGES)
-                .flatMapIterable(SwapiPagedResponse::getResults)
-                .collectList()
-                .doOnSuccess(list -> log.info("Pagination complete - {} total records (search: '{}')", list.size(), search))
-                .onErrorResume(ex -> {
-                    if (isPagedFormatProblem(ex)) {
-                        log.warn("Pagination failed, trying fallback - reason: {}", ex.toString());
-                        return flatArrayFallback.get();
-                    }
-                    log.error("Unexpected pagination error", ex);
-                    return Mono.error(ex);
-                })
-                .timeout(DEFAULT_TIMEOUT);
+        Counter pages = Counter.builder("starwars.upstream.pages")
+                .description("SWAPI result pages fetched")
+                .tag("resource", resource)
+                .register(meterRegistry);
+
+        // Assembled per subscription, so timing and the JFR event cover each actual crawl
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            UpstreamFetchEvent event = new UpstreamFetchEvent();
+            event.begin();
+            AtomicInteger fetched = new AtomicInteger();
+
+            return firstPageFetcher.apply(1)
+                    .doOnNext(resp -> log.debug("Retrieved page 1: {} items, next: {}", safeSize(resp), resp.getNext()))
+                    .doOnNext(resp -> countPage(pages, fetched))
+                    .expand(resp -> {
+                        String next = resp.getNext();
+                        if (next == null) {
+                            log.debug("Pagination complete");
+                            return Mono.empty();
+                        }
+                        String normalized = normalizeNext(next);
+                        log.debug("Fetching next page: '{}' -> '{}'", next, normalized);
+                        return byUrlFetcher.apply(normalized)
+                                .doOnNext(r -> log.debug("Retrieved page: {} items, next: {}", safeSize(r), r.getNext()))
+                                .doOnNext(r -> countPage(pages, fetched));
+                    })
+                    .take(MAX_PAGES)
+                    .flatMapIterable(SwapiPagedResponse::getResults)
+                    .collectList()
+                    .doOnSuccess(list -> log.info("Pagination complete - {} total records (search: '{}')", list.size(), search))
+                    .onErrorResume(ex -> {
+                        if (isPagedFormatProblem(ex)) {
+                            log.warn("Pagination failed, trying fallback - reason: {}", ex.toString());
+                            meterRegistry.counter("starwars.upstream.fallbacks", "resource", resource).increment();
+                            return flatArrayFallback.get();
+                        }
+                        log.error("Unexpected pagination error", ex);
+                        return Mono.error(ex);
+                    })
+                    .timeout(DEFAULT_TIMEOUT)
+                    .doOnSuccess(list -> {
+                        sample.stop(crawlTimer(resource, "success"));
+                        commit(event, resource, search, fetched.get(), list == null ? 0 : list.size(), "success");
+                    })
+                    .doOnError(ex -> {
+                        sample.stop(crawlTimer(resource, "error"));
+                        commit(event, resource, search, fetched.get(), 0, "error");
+                    });
+        });
     }
 
     // ---------- HELPERS ----------
 
+    private static void countPage(Counter pages, AtomicInteger fetched) {
+        pages.increment();
+        fetched.incrementAndGet();
+    }
+
+    private static void commit(UpstreamFetchEvent event, String resource, String search,
+                               int pages, int items, String outcome) {
+        if (event.shouldCommit()) {
+            event.resource = resource;
+            event.search = search;
+            event.pages = pages;
+            event.itemCount = items;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private Timer crawlTimer(String resource, String outcome) {
+        return Timer.builder("starwars.upstream.fetch")
+                .description("Time to crawl every page of a SWAPI resource")
+                .tags("resource", resource, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
     /**
      * Normalize pagination URLs from SWAPI responses
      * Prevents duplicate /api/ path segments in URLs
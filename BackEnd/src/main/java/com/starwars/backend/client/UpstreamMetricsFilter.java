@@ -0,0 +1,76 @@
+package com.starwars.backend.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebClient filter recording per-request SWAPI latency and response body size.
+ * The body is counted as it streams through (SWAPI responses are often chunked, so Content-Length
+ * cannot be relied on), and the timer stops when the body has been fully read.
+ */
+@RequiredArgsConstructor
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String resource = resourceOf(request.url());
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return next.exchange(request)
+                    .doOnError(ex -> sample.stop(requestTimer(resource, "IO_ERROR")))
+                    .map(response -> {
+                        String status = String.valueOf(response.statusCode().value());
+                        AtomicLong bytes = new AtomicLong();
+                        AtomicBoolean recorded = new AtomicBoolean();
+                        Runnable record = () -> {
+                            if (recorded.compareAndSet(false, true)) {
+                                sample.stop(requestTimer(resource, status));
+                                DistributionSummary.builder("starwars.upstream.response.size")
+                                        .description("SWAPI response body size")
+                                        .baseUnit("bytes")
+                                        .tag("resource", resource)
+                                        .register(meterRegistry)
+                                        .record(bytes.get());
+                            }
+                        };
+                        // Recorded before the terminal signal reaches the decoder, so the metrics are
+                        // in place by the time the caller sees the result
+                        return response.mutate()
+                                .body(body -> body
+                                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                        .doOnTerminate(record)
+                                        .doOnCancel(record))
+                                .build();
+                    });
+        });
+    }
+
+    private Timer requestTimer(String resource, String status) {
+        return Timer.builder("starwars.upstream.requests")
+                .description("SWAPI HTTP request latency, including reading the body")
+                .tags("resource", resource, "status", status)
+                .register(meterRegistry);
+    }
+
+    /** "people", "planets" or "other", from the request path, to keep tag cardinality fixed. */
+    static String resourceOf(URI url) {
+        String path = url.getPath();
+        if (path == null) return "other";
+        if (path.contains("/people")) return "people";
+        if (path.contains("/planets")) return "planets";
+        return "other";
+    }
+}
@@ -0,0 +1,54 @@
+package com.starwars.backend.config;
+
+import com.starwars.backend.cache.ClusterSnapshotSync;
+import com.starwars.backend.cache.ClusterTransport;
+import com.starwars.backend.cache.InProcessTransport;
+import com.starwars.backend.cache.MulticastTransport;
+import com.starwars.backend.cache.SharedSnapshotTier;
+import com.starwars.backend.service.SnapshotVersionService;
+import com.starwars.backend.service.SwCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.NetworkInterface;
+import java.net.SocketException;
+
+/**
+ * Snapshot-version broadcast between replicas (starwars.cluster.transport):
+ * "multicast" for replicas on one network segment, "in-process" for tests and local runs, "none" (default) to disable.
+ */
+@Configuration
+@ConditionalOnExpression("'${starwars.cluster.transport:none}' != 'none'")
+public class ClusterConfig {
+
+    @Bean
+    public ClusterTransport clusterTransport(@Value("${starwars.cluster.transport}") String transport,
+                                             @Value("${starwars.cluster.channel:starwars}") String channel,
+                                             @Value("${starwars.cluster.multicast.group:239.255.27.1}") String group,
+                                             @Value("${starwars.cluster.multicast.port:45588}") int port,
+                                             @Value("${starwars.cluster.multicast.interface:}") String interfaceName,
+                                             @Value("${starwars.cluster.multicast.ttl:1}") int ttl) throws SocketException {
+        return switch (transport) {
+            case "in-process" -> new InProcessTransport(channel);
+            case "multicast" -> new MulticastTransport(group, port,
+                    interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName), ttl);
+            default -> throw new IllegalArgumentException("Unknown starwars.cluster.transport: " + transport);
+        };
+    }
+
+    @Bean
+    public ClusterSnapshotSync clusterSnapshotSync(ClusterTransport clusterTransport,
+                                                   SwCacheService cacheService,
+                                                   SnapshotVersionService versions,
+                                                   CacheManager cacheManager,
+                                                   MeterRegistry meterRegistry,
+                                                   ObjectProvider<SharedSnapshotTier> sharedTier) {
+        return new ClusterSnapshotSync(clusterTransport, cacheService, versions, cacheManager, meterRegistry,
+                sharedTier.getIfAvailable() != null);
+    }
+}
@@ -1,11 +1,21 @@
 package com.starwars.backend.config;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -14,23 +24,55 @@ import java.time.format.DateTimeFormatter;
  * Jackson configuration for custom date formatting.
  * Formats OffsetDateTime fields to "d-MM-yyyy HH:mm:ss" format in JSON responses
  * while preserving the internal OffsetDateTime type for proper sorting functionality.
+ * Also attaches the sparse-fieldset filter to the entity DTOs; by default it serializes every property.
+ * Binary formats (Smile, CBOR, MessagePack) get their own converters with the same configuration,
+ * so dates and projections behave identically regardless of the negotiated format.
  */
 @Configuration
 public class JacksonConfig {
 
+    /** Filter id used to project entities to the fields requested via the "fields" query parameter. */
+    public static final String FIELDS_FILTER = "fields";
+
     private static final DateTimeFormatter CUSTOM_DATE_FORMAT = 
             DateTimeFormatter.ofPattern("d-MM-yyyy HH:mm:ss");
 
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        
+        return configure(new ObjectMapper());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(configure(new ObjectMapper(new SmileFactory())));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new ObjectMapper(new CBORFactory())));
+    }
+
+    @Bean
+    public MessagePackHttpMessageConverter messagePackHttpMessageConverter() {
+        return new MessagePackHttpMessageConverter(configure(new ObjectMapper(new MessagePackFactory())));
+    }
+
+    /**
+     * Applies the shared configuration (date format, fields filter) to a mapper of any data format.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
         // Register JavaTimeModule with custom OffsetDateTime serializer
         JavaTimeModule javaTimeModule = new JavaTimeModule();
         javaTimeModule.addSerializer(OffsetDateTime.class, new CustomOffsetDateTimeSerializer());
         
         mapper.registerModule(javaTimeModule);
+
+        // Entities go through the fields filter; the default keeps full output unchanged
+        mapper.addMixIn(PeopleDto.class, FieldsFilterMixin.class);
+        mapper.addMixIn(PlanetDto.class, FieldsFilterMixin.class);
+        mapper.setFilterProvider(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
         
         return mapper;
     }
@@ -44,4 +86,12 @@ public class JacksonConfig {
             super(OffsetDateTimeSerializer.INSTANCE, false, false, CUSTOM_DATE_FORMAT);
         }
     }
+
+    /**
+     * Mix-in that binds entity DTOs to the fields filter without annotating the DTOs themselves,
+     * so plain ObjectMappers (e.g. in tests) keep working without a filter provider.
+     */
+    @JsonFilter(FIELDS_FILTER)
+    private interface FieldsFilterMixin {
+    }
 }
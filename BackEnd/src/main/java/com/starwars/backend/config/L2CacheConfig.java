@@ -0,0 +1,46 @@
+package com.starwars.backend.config;
+
+import com.starwars.backend.cache.L2Store;
+import com.starwars.backend.cache.RedisL2Store;
+import com.starwars.backend.cache.SharedSnapshotTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Optional shared cache tier for multi-replica deployments (starwars.l2.enabled=true).
+ * Replicas share dataset snapshots through a Redis-protocol server at starwars.l2.uri, so only one of them
+ * crawls SWAPI per snapshot lifetime. Disabled by default; each replica then keeps its own Caffeine cache only.
+ * The lease wait runs inside the upstream crawl, so it must be shorter than starwars.upstream.wait-timeout:
+ * requests stop waiting for the crawl at that deadline, and a longer lease wait could only end in 504s.
+ */
+@Configuration
+@ConditionalOnProperty(name = "starwars.l2.enabled", havingValue = "true")
+public class L2CacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(L2Store.class)
+    public RedisL2Store l2Store(@Value("${starwars.l2.uri:redis://localhost:6379}") String uri,
+                                @Value("${starwars.l2.timeout:PT1S}") Duration timeout) {
+        return new RedisL2Store(uri, timeout);
+    }
+
+    @Bean
+    public SharedSnapshotTier sharedSnapshotTier(L2Store l2Store,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${starwars.l2.ttl:PT10M}") Duration ttl,
+                                                 @Value("${starwars.l2.lock-ttl:PT30S}") Duration lockTtl,
+                                                 @Value("${starwars.l2.lock-wait:PT8S}") Duration lockWait,
+                                                 @Value("${starwars.upstream.wait-timeout:12s}") Duration waitTimeout) {
+        if (lockWait.compareTo(waitTimeout) >= 0) {
+            throw new IllegalArgumentException("starwars.l2.lock-wait (" + lockWait
+                    + ") must be shorter than starwars.upstream.wait-timeout (" + waitTimeout + ")");
+        }
+        return new SharedSnapshotTier(l2Store, meterRegistry, ttl, lockTtl, lockWait);
+    }
+}
@@ -0,0 +1,18 @@
+package com.starwars.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.model.ResponseFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * HttpMessageConverter for MessagePack, the counterpart of Spring's Smile and CBOR converters.
+ * Expects an ObjectMapper built on MessagePackFactory (see JacksonConfig); handles the media types
+ * ResponseFormat.MSGPACK declares.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, ResponseFormat.MSGPACK.mediaTypes().toArray(MediaType[]::new));
+    }
+}
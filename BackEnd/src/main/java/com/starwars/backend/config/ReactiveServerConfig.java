@@ -0,0 +1,30 @@
+package com.starwars.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyRouteProvider;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the reactive mode (profile "reactive") on Netty.
+ * spring-boot-starter-web keeps Tomcat on the classpath, and Spring Boot prefers Tomcat for a reactive
+ * server as well; declaring the Netty factory here takes precedence over that choice, so WebFlux runs
+ * on Reactor Netty's event loops instead of a Tomcat worker pool.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            ObjectProvider<NettyServerCustomizer> serverCustomizers,
+            ObjectProvider<NettyRouteProvider> routes) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        routes.orderedStream().forEach(factory::addRouteProviders);
+        return factory;
+    }
+}
@@ -0,0 +1,12 @@
+package com.starwars.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks (change feed heartbeats and refreshes).
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
@@ -1,5 +1,8 @@
 package com.starwars.backend.config;
 
+import com.starwars.backend.client.UpstreamMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -16,7 +19,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient swapiWebClient(WebClient.Builder builder) {
+    public WebClient swapiWebClient(WebClient.Builder builder,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${swapi.base-url:https://swapi.info/api}") String baseUrl) {
         // Custom ExchangeStrategies: by default, WebClient limits response body to 256KB.
         // SWAPI endpoints can return large datasets, so setting to 16MB for safety.
         ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
@@ -26,11 +31,12 @@ public class WebClientConfig {
                 .build();
 
         // Configure JSON Accept header globally for all requests.
-        // Base URL enables relative paths ("/people", "/planets", etc).
+        // Base URL enables relative paths ("/people", "/planets", etc); overridable for local stand-ins.
         return builder
-                .baseUrl("https://swapi.info/api")
+                .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .exchangeStrategies(exchangeStrategies)
+                .filter(new UpstreamMetricsFilter(meterRegistry))
                 .build();
     }
 }
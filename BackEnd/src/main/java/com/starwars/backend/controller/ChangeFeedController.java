@@ -0,0 +1,32 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeed;
+
+    /**
+     * Server-Sent Events stream of snapshot changes, optionally limited to one resource.
+     * X-Accel-Buffering tells nginx not to buffer the stream.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> changes(@RequestParam(required = false) String resource) {
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(changeFeed.subscribe(resource));
+    }
+}
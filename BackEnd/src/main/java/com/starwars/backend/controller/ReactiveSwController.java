@@ -0,0 +1,45 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.service.ReactiveSwService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of SwController, active only when the app runs as a reactive web application
+ * (profile "reactive"). Same endpoints and parameters, served end-to-end without blocking on Netty.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSwController {
+
+    private final ReactiveSwService service;
+
+    @GetMapping("/people")
+    public Mono<PageDto<PeopleDto>> people(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "15") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String dir
+    ) {
+        return service.getPeople(page, size, search, sort, dir);
+    }
+
+    @GetMapping("/planets")
+    public Mono<PageDto<PlanetDto>> planets(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "15") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String dir
+    ) {
+        return service.getPlanets(page, size, search, sort, dir);
+    }
+}
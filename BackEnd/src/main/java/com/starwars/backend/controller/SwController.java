@@ -1,38 +1,146 @@
 package com.starwars.backend.controller;
 
-import com.starwars.backend.model.PageDto;
-import com.starwars.backend.model.PeopleDto;
-import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.BatchQuery;
+import com.starwars.backend.model.DatasetExport;
+import com.starwars.backend.model.EncodedPage;
+import com.starwars.backend.model.ExportFormat;
+import com.starwars.backend.model.Facets;
+import com.starwars.backend.model.PageResponse;
+import com.starwars.backend.model.ResponseFormat;
+import com.starwars.backend.model.Suggestion;
+import com.starwars.backend.service.FacetService;
+import com.starwars.backend.service.SuggestService;
 import com.starwars.backend.service.SwService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SwController {
 
     private final SwService service;
+    private final SuggestService suggestService;
+    private final FacetService facetService;
 
     @GetMapping("/people")
-    public PageDto<PeopleDto> people(
+    public ResponseEntity<byte[]> people(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "name") String sort,
-            @RequestParam(defaultValue = "asc") String dir
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request
     ) {
-        return service.getPeople(page, size, search, sort, dir);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return respond(service.renderPeople(page, size, search, sort, dir, fields, format), format, request);
     }
 
     @GetMapping("/planets")
-    public PageDto<PlanetDto> planets(
+    public ResponseEntity<byte[]> planets(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "name") String sort,
-            @RequestParam(defaultValue = "asc") String dir
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request
     ) {
-        return service.getPlanets(page, size, search, sort, dir);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return respond(service.renderPlanets(page, size, search, sort, dir, fields, format), format, request);
+    }
+
+    /**
+     * Answers several page queries in one round-trip; the body is a JSON array of pages in request order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<byte[]> batch(@RequestBody List<BatchQuery> queries) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.renderBatch(queries));
+    }
+
+    /**
+     * Streams the whole, optionally filtered and sorted, dataset as NDJSON (default) or CSV.
+     */
+    @GetMapping("/{resource}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String resource,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String format
+    ) {
+        DatasetExport export = service.export(resource, search, sort, dir, fields, ExportFormat.of(format));
+        return ResponseEntity.ok()
+                .contentType(export.format().mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(export.filename()).build().toString())
+                .body(out -> service.writeExport(export, out));
+    }
+
+    /**
+     * Typeahead: up to {@code limit} names and ids matching {@code q} as a prefix of the name or of one of its words.
+     */
+    @GetMapping("/{resource}/suggest")
+    public List<Suggestion> suggest(
+            @PathVariable String resource,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return suggestService.suggest(resource, q, limit);
+    }
+
+    /**
+     * Value counts and histograms of the requested fields (all facet fields when omitted) over the search results.
+     */
+    @GetMapping("/{resource}/facets")
+    public Facets facets(
+            @PathVariable String resource,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String search
+    ) {
+        return facetService.facets(resource, fields, search);
+    }
+
+    /**
+     * Writes a pre-serialized page, answering 304 when the client already holds the same ETag.
+     * The format is negotiated from Accept (JSON by default) and the precompressed gzip variant is
+     * served when Accept-Encoding allows it, so responses vary by both headers.
+     */
+    private static ResponseEntity<byte[]> respond(PageResponse response, ResponseFormat format, WebRequest request) {
+        String matched = response.matchingEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        EncodedPage body = response.getBody();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(format.mediaType());
+        if (body.getGzip() != null && EncodedPage.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return ok.eTag(response.getGzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(body.getGzip());
+        }
+        return ok.eTag(response.getEtag()).body(body.getIdentity());
     }
 }
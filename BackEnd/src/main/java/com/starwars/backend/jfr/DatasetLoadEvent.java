@@ -0,0 +1,31 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A dataset load in SwCacheService after a cache miss, either running the crawl or waiting on one in flight.
+ */
+@Name("starwars.DatasetLoad")
+@Label("Dataset Load")
+@Category({"Star Wars", "Backend"})
+@Description("Cache miss for a dataset: upstream crawl, or wait on a crawl already in flight")
+@StackTrace(false)
+public final class DatasetLoadEvent extends jdk.jfr.Event {
+
+    @Label("Resource")
+    public String resource;
+
+    @Label("Search Key")
+    public String searchKey;
+
+    @Label("Items")
+    public int itemCount;
+
+    @Label("Coalesced")
+    @Description("True when this load waited on another caller's crawl")
+    public boolean coalesced;
+}
@@ -0,0 +1,30 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One PaginationUtil.paginate call.
+ */
+@Name("starwars.Paginate")
+@Label("Paginate")
+@Category({"Star Wars", "Backend"})
+@Description("Slice of one page out of a sorted dataset")
+@StackTrace(false)
+public final class PaginateEvent extends jdk.jfr.Event {
+
+    @Label("Page")
+    public int page;
+
+    @Label("Size")
+    public int size;
+
+    @Label("Total")
+    public int total;
+
+    @Label("Items")
+    public int itemCount;
+}
@@ -0,0 +1,117 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the Star Wars domain events of a JFR recording per phase and resource:
+ * event count, items processed and duration percentiles.
+ *
+ * Run it against a recording taken with starwars.jfc, from the packaged jar:
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.starwars.backend.jfr.RecordingAnalyzer \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher /tmp/starwars.jfr
+ * </pre>
+ */
+public final class RecordingAnalyzer {
+
+    private static final String EVENT_PREFIX = "starwars.";
+
+    private RecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+
+    /** Reads every starwars.* event of the recording and aggregates them by phase and resource. */
+    public static List<PhaseSummary> summarize(Path recording) throws IOException {
+        Map<String, List<RecordedEvent>> byPhase = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            if (name.startsWith(EVENT_PREFIX)) {
+                String key = name.substring(EVENT_PREFIX.length()) + "\t" + subject(event);
+                byPhase.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+            }
+        }
+
+        List<PhaseSummary> summaries = new ArrayList<>(byPhase.size());
+        byPhase.forEach((key, events) -> {
+            String[] parts = key.split("\t", 2);
+            List<Duration> durations = events.stream()
+                    .map(RecordedEvent::getDuration)
+                    .sorted()
+                    .toList();
+            long items = events.stream()
+                    .filter(e -> e.hasField("itemCount"))
+                    .mapToLong(e -> e.getInt("itemCount"))
+                    .sum();
+            Duration total = durations.stream().reduce(Duration.ZERO, Duration::plus);
+            summaries.add(new PhaseSummary(parts[0], parts[1], events.size(), items, total,
+                    percentile(durations, 0.50), percentile(durations, 0.95), durations.get(durations.size() - 1)));
+        });
+        summaries.sort(Comparator.comparing(PhaseSummary::total).reversed());
+        return summaries;
+    }
+
+    /** Prints the summaries as a table, most expensive phase first. */
+    public static void print(List<PhaseSummary> summaries, PrintStream out) {
+        out.printf("%-14s %-12s %8s %10s %12s %10s %10s %10s%n",
+                "phase", "resource", "events", "items", "total ms", "p50 ms", "p95 ms", "max ms");
+        for (PhaseSummary s : summaries) {
+            out.printf("%-14s %-12s %8d %10d %12.1f %10.3f %10.3f %10.3f%n",
+                    s.phase(), s.resource(), s.count(), s.items(),
+                    millis(s.total()), millis(s.p50()), millis(s.p95()), millis(s.max()));
+        }
+    }
+
+    /** Resource the event is about: the resource field when present, otherwise the entity type. */
+    private static String subject(RecordedEvent event) {
+        if (event.hasField("resource") && event.getString("resource") != null) {
+            return event.getString("resource");
+        }
+        if (event.hasField("type") && event.getString("type") != null) {
+            return event.getString("type");
+        }
+        return "-";
+    }
+
+    private static Duration percentile(List<Duration> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Aggregate of one phase for one resource.
+     *
+     * @param phase    event name without the "starwars." prefix, e.g. "Sort"
+     * @param resource resource or entity type, "-" when the event carries neither
+     * @param count    number of events
+     * @param items    sum of the events' item counts
+     * @param total    summed duration
+     * @param p50      median duration
+     * @param p95      95th percentile duration
+     * @param max      longest duration
+     */
+    public record PhaseSummary(String phase, String resource, int count, long items, Duration total,
+                               Duration p50, Duration p95, Duration max) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Encoding of a page response, or streaming of a dataset export.
+ */
+@Name("starwars.ResponseWrite")
+@Label("Response Write")
+@Category({"Star Wars", "Backend"})
+@Description("Serialization of a page, or streaming of a full export")
+@StackTrace(false)
+public final class ResponseWriteEvent extends jdk.jfr.Event {
+
+    @Label("Resource")
+    public String resource;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Fields")
+    public String fields;
+
+    @Label("Items")
+    public int itemCount;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
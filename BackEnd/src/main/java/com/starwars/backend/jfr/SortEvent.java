@@ -0,0 +1,33 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One SortEngine.sort call.
+ */
+@Name("starwars.Sort")
+@Label("Sort")
+@Category({"Star Wars", "Backend"})
+@Description("Sort of a dataset by one field")
+@StackTrace(false)
+public final class SortEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Field")
+    public String field;
+
+    @Label("Ascending")
+    public boolean ascending;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Items")
+    public int itemCount;
+}
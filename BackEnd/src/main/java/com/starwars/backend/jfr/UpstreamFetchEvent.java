@@ -0,0 +1,33 @@
+package com.starwars.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One complete SWAPI crawl of a resource (all pages, or the flat-array fallback).
+ */
+@Name("starwars.UpstreamFetch")
+@Label("Upstream Fetch")
+@Category({"Star Wars", "Backend"})
+@Description("Crawl of every SWAPI page of a resource")
+@StackTrace(false)
+public final class UpstreamFetchEvent extends jdk.jfr.Event {
+
+    @Label("Resource")
+    public String resource;
+
+    @Label("Search")
+    public String search;
+
+    @Label("Pages")
+    public int pages;
+
+    @Label("Items")
+    public int itemCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
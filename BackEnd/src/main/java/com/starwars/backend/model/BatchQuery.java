@@ -0,0 +1,25 @@
+package com.starwars.backend.model;
+
+/**
+ * One page request inside a {@code POST /api/batch} body.
+ * Mirrors the query parameters of {@code GET /api/{resource}}; absent values take the same defaults.
+ *
+ * @param resource "people" or "planets"
+ * @param page     zero-based page index, 0 when absent
+ * @param size     items per page, 15 when absent
+ * @param search   optional case-insensitive name filter
+ * @param sort     sort field, "name" when absent
+ * @param dir      "asc" or "desc", ascending when absent
+ * @param fields   optional comma-separated sparse field set
+ */
+public record BatchQuery(String resource, Integer page, Integer size, String search, String sort, String dir,
+                         String fields) {
+
+    public int pageOrDefault() {
+        return page == null ? 0 : page;
+    }
+
+    public int sizeOrDefault() {
+        return size == null ? 15 : size;
+    }
+}
@@ -0,0 +1,20 @@
+package com.starwars.backend.model;
+
+import java.util.List;
+
+/**
+ * A validated export request bound to the dataset snapshot it will stream.
+ *
+ * @param resource "people" or "planets"
+ * @param format   output format
+ * @param rows     filtered and sorted entities, in output order
+ * @param type     entity type of the rows
+ * @param fieldSet canonical sparse field set, empty for all fields
+ */
+public record DatasetExport(String resource, ExportFormat format, List<?> rows, Class<?> type, String fieldSet) {
+
+    /** Suggested download name, e.g. {@code people.csv}. */
+    public String filename() {
+        return resource + "." + format.extension();
+    }
+}
@@ -0,0 +1,100 @@
+package com.starwars.backend.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized page bytes plus an optional precompressed gzip variant.
+ * Built once per cached page, so serving a hot page is a plain copy of whichever variant the client accepts.
+ */
+public final class EncodedPage {
+
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private EncodedPage(byte[] identity, byte[] gzip) {
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    /** Uncompressed page only. */
+    public static EncodedPage identity(byte[] body) {
+        return new EncodedPage(body, null);
+    }
+
+    /**
+     * Builds the page with a gzip variant when the body is at least minSize bytes
+     * and compression actually makes it smaller.
+     */
+    public static EncodedPage of(byte[] body, int minSize) {
+        if (body.length < minSize) {
+            return identity(body);
+        }
+        byte[] compressed = gzip(body);
+        return new EncodedPage(body, compressed.length < body.length ? compressed : null);
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    /** Gzip variant, or null when the page is below the threshold or doesn't compress. */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /** Bytes held by this entry, used to weigh it in the response cache. */
+    public int weight() {
+        return identity.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip (explicitly or via "*"), honoring q=0 exclusions.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            boolean allowed = !isZeroQuality(tokens);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return allowed;
+            }
+            if (coding.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isZeroQuality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        // Compression runs once per cached page, so favor ratio over speed
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,51 @@
+package com.starwars.backend.model;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats a full-dataset export can be streamed in.
+ * NDJSON writes one JSON object per line (the same bytes as a page item); CSV writes a header row
+ * followed by one record per entity.
+ */
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the format query parameter, NDJSON when absent.
+     *
+     * @throws ResponseStatusException 400 for any other value
+     */
+    public static ExportFormat of(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown export format '" + format + "'. Supported: ndjson, csv.");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.starwars.backend.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregations over the entities matching a search.
+ *
+ * @param total      number of matching entities
+ * @param values     per categorical field, the count of every value present, most frequent first
+ * @param histograms per numeric field, counts per bucket
+ */
+public record Facets(int total, Map<String, Map<String, Integer>> values, Map<String, Histogram> histograms) {
+
+    /**
+     * Bucket counts of a numeric field. Buckets are fixed per dataset snapshot, so a filtered histogram has
+     * the same buckets as the unfiltered one.
+     *
+     * @param buckets consecutive buckets, including empty ones
+     * @param unknown entities without a numeric value
+     */
+    public record Histogram(List<Bucket> buckets, int unknown) {
+    }
+
+    /**
+     * @param from  inclusive lower bound
+     * @param to    exclusive upper bound
+     * @param count matching entities in the bucket
+     */
+    public record Bucket(long from, long to, int count) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.starwars.backend.model;
+
+public interface HasUrl {
+    String getUrl();
+}
@@ -0,0 +1,55 @@
+package com.starwars.backend.model;
+
+import java.util.Locale;
+
+/**
+ * Normalized view of a paged list request: resource plus page, size, search, sort and direction.
+ * Two requests that produce the same response map to the same PageQuery, so it can be used
+ * as a cache key for serialized pages and as the input for ETag computation.
+ *
+ * @param resource  logical resource name ("people", "planets")
+ * @param page      requested page, echoed as-is in the response
+ * @param size      requested size, echoed as-is in the response
+ * @param searchKey lower-cased search term, or "ALL" when absent (same key as the dataset cache)
+ * @param sort      lower-cased sort field, "name" when blank
+ * @param ascending true unless dir is "desc"
+ * @param fields    canonical sparse field set (sorted, comma-separated), empty for all fields
+ * @param format    wire format the page is encoded in
+ */
+public record PageQuery(String resource, int page, int size, String searchKey, String sort, boolean ascending,
+                        String fields, ResponseFormat format) {
+
+    public static PageQuery of(String resource, int page, int size, String search, String sort, String dir) {
+        return of(resource, page, size, search, sort, dir, "");
+    }
+
+    public static PageQuery of(String resource, int page, int size, String search, String sort, String dir,
+                               String fieldSet) {
+        return of(resource, page, size, search, sort, dir, fieldSet, ResponseFormat.JSON);
+    }
+
+    public static PageQuery of(String resource, int page, int size, String search, String sort, String dir,
+                               String fieldSet, ResponseFormat format) {
+        String sortField = (sort == null || sort.isBlank()) ? "name" : sort.trim().toLowerCase(Locale.ROOT);
+        return new PageQuery(resource, page, size, searchKey(search), sortField, !"desc".equalsIgnoreCase(dir),
+                fieldSet == null ? "" : fieldSet, format == null ? ResponseFormat.JSON : format);
+    }
+
+    /** Same key expression as the @Cacheable datasets in SwCacheService. */
+    public static String searchKey(String search) {
+        return search == null ? "ALL" : search.toLowerCase();
+    }
+
+    /** Identifies the underlying dataset (resource + search), independent of paging and sorting. */
+    public String datasetKey() {
+        return resource + ":" + searchKey;
+    }
+
+    /** Stable textual form used for hashing into ETags. */
+    public String canonical() {
+        return resource + "?page=" + page + "&size=" + size + "&search=" + searchKey
+                + "&sort=" + sort + "&dir=" + (ascending ? "asc" : "desc")
+                + (fields.isEmpty() ? "" : "&fields=" + fields)
+                + (format == ResponseFormat.JSON ? "" : "&format=" + format.name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,61 @@
+package com.starwars.backend.model;
+
+import java.util.function.Supplier;
+
+/**
+ * A serialized page ready to be written to the client.
+ * The ETag is known up front (snapshot version + query), while the body is resolved lazily,
+ * so conditional requests answered with 304 never touch sorting or serialization.
+ * The gzip variant has its own strong ETag ("...-gzip"), as required for a different content coding.
+ */
+public final class PageResponse {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final String etag;
+    private final Supplier<EncodedPage> body;
+
+    public PageResponse(String etag, Supplier<EncodedPage> body) {
+        this.etag = etag;
+        this.body = body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /** ETag of the gzip-encoded representation. */
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    public EncodedPage getBody() {
+        return body.get();
+    }
+
+    /**
+     * Returns the current ETag (identity or gzip variant) listed in an If-None-Match header, or null.
+     * Uses weak comparison as required for If-None-Match, so proxies that weaken ETags still get 304s.
+     */
+    public String matchingEtag(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return etag;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return etag;
+            }
+            if (tag.equals(getGzipEtag())) {
+                return tag;
+            }
+        }
+        return null;
+    }
+}
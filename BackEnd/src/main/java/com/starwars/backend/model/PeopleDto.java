@@ -9,7 +9,7 @@ import java.util.List;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class PeopleDto implements HasName, HasCreated, HasHeight, HasMass, HasGender {
+public class PeopleDto implements HasName, HasCreated, HasHeight, HasMass, HasGender, HasUrl {
     private String name;
     private String height;
     private String mass;
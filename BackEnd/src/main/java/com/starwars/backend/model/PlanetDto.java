@@ -11,7 +11,7 @@ import java.util.List;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class PlanetDto implements HasName, HasCreated, HasPopulation {
+public class PlanetDto implements HasName, HasCreated, HasPopulation, HasUrl {
     private String name;
 
     @JsonProperty("rotation_period")
@@ -0,0 +1,70 @@
+package com.starwars.backend.model;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wire formats a page response can be encoded in.
+ * JSON stays the default; the binary formats are Jackson dataformats configured in JacksonConfig
+ * with the same date handling, so created/edited look the same in every format.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR),
+    MSGPACK(new MediaType("application", "x-msgpack"), new MediaType("application", "msgpack"));
+
+    private final List<MediaType> mediaTypes;
+
+    ResponseFormat(MediaType mediaType, MediaType... aliases) {
+        List<MediaType> types = new ArrayList<>(List.of(mediaType));
+        types.addAll(List.of(aliases));
+        this.mediaTypes = List.copyOf(types);
+    }
+
+    /** The type responses in this format are labeled with. */
+    public MediaType mediaType() {
+        return mediaTypes.get(0);
+    }
+
+    /** The type responses are labeled with, followed by the aliases Accept headers may use for it. */
+    public List<MediaType> mediaTypes() {
+        return mediaTypes;
+    }
+
+    /**
+     * Picks the format for an Accept header, honoring quality values.
+     * Wildcards and missing or unparseable headers resolve to JSON, and so does an Accept header that
+     * lists no supported type, preserving the previous behavior of always answering with JSON.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType candidate : accepted) {
+            if (candidate.getQualityValue() == 0) continue;
+            for (ResponseFormat format : values()) {
+                for (MediaType type : format.mediaTypes) {
+                    if (candidate.includes(type)) {
+                        return format;
+                    }
+                }
+            }
+        }
+        return JSON;
+    }
+}
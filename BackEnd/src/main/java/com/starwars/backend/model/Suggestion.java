@@ -0,0 +1,10 @@
+package com.starwars.backend.model;
+
+/**
+ * One typeahead suggestion.
+ *
+ * @param id   SWAPI id of the entity (last segment of its URL), null when the URL is unknown
+ * @param name display name
+ */
+public record Suggestion(String id, String name) {
+}
@@ -0,0 +1,82 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.ResponseFormat;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes pages in the binary formats (Smile, CBOR, MessagePack).
+ * Uses the ObjectMappers of the registered Jackson HttpMessageConverters, so the cached bytes are exactly
+ * what those converters would write, and keeps one pre-built ObjectWriter per (format, field set).
+ * Binary formats are encoded as a whole page rather than from fragments: Smile back-references and
+ * length-prefixed containers don't concatenate the way JSON text does.
+ */
+@Service
+public class BinaryPageWriter {
+
+    /** Bound on cached writers, mirroring the field set bound of PageJsonWriter. */
+    private static final int MAX_WRITERS = 64;
+
+    private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+
+    private final Cache<String, ObjectWriter> writers = Caffeine.newBuilder()
+            .maximumSize(MAX_WRITERS)
+            .build();
+
+    public BinaryPageWriter(List<HttpMessageConverter<?>> converters) {
+        for (ResponseFormat format : ResponseFormat.values()) {
+            if (format == ResponseFormat.JSON) continue;
+            converters.stream()
+                    .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                    .map(AbstractJackson2HttpMessageConverter.class::cast)
+                    .filter(c -> c.canWrite(PageDto.class, format.mediaType()))
+                    .findFirst()
+                    .ifPresent(c -> mappers.put(format, c.getObjectMapper()));
+        }
+    }
+
+    /** Whether a converter for the format is registered. */
+    public boolean supports(ResponseFormat format) {
+        return mappers.containsKey(format);
+    }
+
+    /** Encodes the page in the given binary format, projecting items to the canonical field set. */
+    public byte[] toBytes(PageDto<?> page, ResponseFormat format, String fieldSet) {
+        ObjectMapper mapper = mappers.get(format);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No converter registered for " + format.mediaType());
+        }
+        ObjectWriter writer = writers.get(format + "|" + fieldSet, k -> writer(mapper, fieldSet));
+        try {
+            return writer.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode page as " + format, e);
+        }
+    }
+
+    private static ObjectWriter writer(ObjectMapper mapper, String fieldSet) {
+        if (fieldSet == null || fieldSet.isEmpty()) {
+            return mapper.writer();
+        }
+        Set<String> include = Arrays.stream(fieldSet.split(",")).collect(Collectors.toSet());
+        return mapper.writer(new SimpleFilterProvider()
+                .addFilter(JacksonConfig.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(include)));
+    }
+}
@@ -0,0 +1,228 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.model.PageQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events feed of dataset snapshot changes.
+ * Every {@link SnapshotChangedEvent} is serialized once and pushed to all subscribers as a "snapshot" event
+ * whose id is the new version, so clients only revalidate their pages when something actually changed.
+ *
+ * Idle subscribers are cheap: each one is an async servlet request parked in the container, with no thread
+ * attached. Broadcasts and heartbeats only queue the event per subscriber, off the request that observed the
+ * change; each subscriber's queue is drained in order on its own virtual thread, so a connection that stops
+ * reading delays nobody else. A subscriber with {@link #MAX_PENDING_EVENTS} events still queued is dropped
+ * instead of buffering for it; EventSource clients reconnect and revalidate.
+ * While anyone is subscribed, the unfiltered datasets are re-checked periodically, so changes are noticed
+ * even when nobody is polling the page endpoints anymore.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ChangeFeedService implements DisposableBean {
+
+    private static final long RECONNECT_MILLIS = 10_000;
+
+    /** Events queued for one subscriber before it counts as too slow and is dropped. */
+    static final int MAX_PENDING_EVENTS = 16;
+
+    private final ObjectMapper objectMapper;
+    private final SwCacheService cacheService;
+    private final SnapshotVersionService versions;
+    private final Duration timeout;
+    private final int maxSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeFeedService(ObjectMapper objectMapper,
+                             SwCacheService cacheService,
+                             SnapshotVersionService versions,
+                             @Value("${starwars.change-feed.timeout:PT30M}") Duration timeout,
+                             @Value("${starwars.change-feed.max-subscribers:10000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.cacheService = cacheService;
+        this.versions = versions;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Registers a subscriber for changes of one resource, or of every resource when null.
+     * The connection ends after the configured timeout; EventSource clients reconnect on their own.
+     */
+    public SseEmitter subscribe(String resource) {
+        if (resource != null && !"people".equals(resource) && !"planets".equals(resource)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown resource: " + resource);
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many change feed subscribers");
+        }
+        return register(new SseEmitter(timeout.toMillis()), resource);
+    }
+
+    /** Adds the emitter as a subscriber once the initial comment is written to it. */
+    SseEmitter register(SseEmitter emitter, String resource) {
+        Subscriber subscriber = new Subscriber(emitter, resource);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("subscribed"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        log.debug("Change feed subscriber added (resource={}, total={})", resource, subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change event for '{}'", event.datasetKey(), e);
+            return;
+        }
+        int queued = 0;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(event.resource())
+                    && dispatch(subscriber, SseEmitter.event().name("snapshot").id(event.version()).data(data))) {
+                queued++;
+            }
+        }
+        log.info("Change feed: pushing {} {} to {} subscribers", event.datasetKey(), event.version(), queued);
+    }
+
+    /** Keeps idle connections open through proxies and drops subscribers whose connection is gone. */
+    @Scheduled(fixedDelayString = "${starwars.change-feed.heartbeat:PT30S}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        subscribers.forEach(s -> dispatch(s, SseEmitter.event().comment("heartbeat")));
+    }
+
+    /**
+     * Re-reads the unfiltered datasets while anyone is subscribed. The cache returns the same snapshot
+     * until it expires, so this only costs an upstream crawl once per cache lifetime, and a reload with
+     * different content publishes the change event that the subscribers are waiting for.
+     */
+    @Scheduled(fixedDelayString = "${starwars.change-feed.refresh-interval:PT1M}")
+    public void refresh() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String all = PageQuery.searchKey(null);
+        try {
+            versions.versionOf("people", all, cacheService.loadAllPeople(null));
+            versions.versionOf("planets", all, cacheService.loadAllPlanets(null));
+        } catch (RuntimeException e) {
+            log.warn("Change feed refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    /** Queues the event for the subscriber, or drops the subscriber when it is too far behind. */
+    private boolean dispatch(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.enqueue(event)) {
+            return true;
+        }
+        if (subscribers.remove(subscriber)) {
+            log.debug("Change feed subscriber dropped: {} events pending (resource={})",
+                    MAX_PENDING_EVENTS, subscriber.resource);
+            // The emitter may be blocked in a send to the same connection, so it is completed off this thread
+            sender.execute(() -> subscriber.emitter.completeWithError(
+                    new IOException("Change feed subscriber too slow")));
+        }
+        return false;
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /** One connection plus the events not yet written to it, sent in order by at most one thread at a time. */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String resource;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String resource) {
+            this.emitter = emitter;
+            this.resource = resource;
+        }
+
+        boolean wants(String changedResource) {
+            return resource == null || resource.equals(changedResource);
+        }
+
+        /** False when the queue is full. */
+        boolean enqueue(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    if (!send(this, event)) {
+                        // Gone: leave draining set so nothing is queued up for it again
+                        pending.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
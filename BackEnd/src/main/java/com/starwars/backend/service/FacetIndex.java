@@ -0,0 +1,300 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.Facets;
+import com.starwars.backend.model.Facets.Bucket;
+import com.starwars.backend.model.Facets.Histogram;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable column index over one dataset snapshot for value counts and histograms.
+ *
+ * Each facet field is stored as a column over the snapshot's rows. A categorical column is a sorted
+ * dictionary of its values plus, per row, the codes of the row's values (comma-separated fields such as
+ * climate or terrain have several). A numeric column has bucket bounds fixed at build time plus, per row,
+ * the index of its bucket. Aggregating is then a pass over int arrays for the rows whose name contains the
+ * search term, and the unfiltered aggregations are computed once at build time.
+ *
+ * Values come from the snapshot's DTOs, which were normalized on deserialization (gender through
+ * PeopleDto.normalizeGender, mass through normalizeMass, population through PlanetDto.parsePopulation),
+ * so facet values agree with what the page endpoints show and sort by.
+ */
+public final class FacetIndex {
+
+    /** Approximate number of buckets of a linear histogram. */
+    static final int TARGET_BUCKETS = 10;
+
+    private final String[] lowerNames;
+    private final Map<String, Categorical> categorical;
+    private final Map<String, Numeric> numeric;
+
+    private FacetIndex(String[] lowerNames, Map<String, Categorical> categorical, Map<String, Numeric> numeric) {
+        this.lowerNames = lowerNames;
+        this.categorical = categorical;
+        this.numeric = numeric;
+    }
+
+    public static FacetIndex people(List<PeopleDto> snapshot) {
+        Map<String, Function<PeopleDto, String>> categorical = new LinkedHashMap<>();
+        categorical.put("gender", PeopleDto::getGender);
+        categorical.put("eye_color", PeopleDto::getEyeColor);
+        categorical.put("hair_color", PeopleDto::getHairColor);
+        categorical.put("skin_color", PeopleDto::getSkinColor);
+        Map<String, Numeric> numeric = new LinkedHashMap<>();
+        numeric.put("height", Numeric.linear(snapshot, p -> number(p.getHeight())));
+        numeric.put("mass", Numeric.linear(snapshot, p -> number(p.getMass())));
+        return build(snapshot, PeopleDto::getName, categorical, numeric);
+    }
+
+    public static FacetIndex planets(List<PlanetDto> snapshot) {
+        Map<String, Function<PlanetDto, String>> categorical = new LinkedHashMap<>();
+        categorical.put("climate", PlanetDto::getClimate);
+        categorical.put("terrain", PlanetDto::getTerrain);
+        Map<String, Numeric> numeric = new LinkedHashMap<>();
+        numeric.put("population", Numeric.decades(snapshot,
+                p -> p.getPopulation() == null ? Double.NaN : p.getPopulation()));
+        numeric.put("diameter", Numeric.linear(snapshot, p -> number(p.getDiameter())));
+        return build(snapshot, PlanetDto::getName, categorical, numeric);
+    }
+
+    private static <T> FacetIndex build(List<T> snapshot, Function<T, String> name,
+                                        Map<String, Function<T, String>> categoricalFields,
+                                        Map<String, Numeric> numeric) {
+        String[] lowerNames = new String[snapshot.size()];
+        for (int row = 0; row < lowerNames.length; row++) {
+            String value = name.apply(snapshot.get(row));
+            lowerNames[row] = value == null ? null : value.toLowerCase();
+        }
+        Map<String, Categorical> categorical = new LinkedHashMap<>();
+        categoricalFields.forEach((field, getter) -> categorical.put(field, Categorical.of(snapshot, getter)));
+        return new FacetIndex(lowerNames, categorical, numeric);
+    }
+
+    /** Facet fields of this resource: categorical ones first, then numeric ones. */
+    public Set<String> fields() {
+        Set<String> fields = new LinkedHashSet<>(categorical.keySet());
+        fields.addAll(numeric.keySet());
+        return fields;
+    }
+
+    /**
+     * Aggregates the requested fields over the rows whose name contains the search key.
+     *
+     * @param fields    facet fields, in output order; each must be one of {@link #fields()}
+     * @param searchKey lower-cased search term, or "ALL" for the whole snapshot
+     */
+    public Facets facets(List<String> fields, String searchKey) {
+        int[] rows = "ALL".equals(searchKey) ? null : matchingRows(searchKey);
+        Map<String, Map<String, Integer>> values = new LinkedHashMap<>();
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        for (String field : fields) {
+            Categorical column = categorical.get(field);
+            if (column != null) {
+                values.put(field, rows == null ? column.all : column.tally(rows));
+            } else if (numeric.get(field) instanceof Numeric histogram) {
+                histograms.put(field, rows == null ? histogram.all : histogram.tally(rows));
+            } else {
+                throw new IllegalArgumentException("Unknown facet field: " + field);
+            }
+        }
+        return new Facets(rows == null ? lowerNames.length : rows.length, values, histograms);
+    }
+
+    private int[] matchingRows(String searchKey) {
+        int[] rows = new int[lowerNames.length];
+        int count = 0;
+        for (int row = 0; row < lowerNames.length; row++) {
+            if (lowerNames[row] != null && lowerNames[row].contains(searchKey)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /** Parses a normalized numeric field ("1358", "unknown"); NaN when it has no numeric value. */
+    private static double number(String value) {
+        if (value == null || value.isBlank()) return Double.NaN;
+        try {
+            return Double.parseDouble(value.trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /** Dictionary-encoded column; row r has the codes in codes[rowStart[r]] .. codes[rowStart[r + 1] - 1]. */
+    private static final class Categorical {
+        private final String[] dictionary;
+        private final int[] rowStart;
+        private final int[] codes;
+        private final Map<String, Integer> all;
+
+        private Categorical(String[] dictionary, int[] rowStart, int[] codes) {
+            this.dictionary = dictionary;
+            this.rowStart = rowStart;
+            this.codes = codes;
+            this.all = tally(null);
+        }
+
+        static <T> Categorical of(List<T> snapshot, Function<T, String> getter) {
+            List<List<String>> rowValues = new ArrayList<>(snapshot.size());
+            TreeMap<String, Integer> dictionary = new TreeMap<>();
+            for (T entity : snapshot) {
+                List<String> values = values(getter.apply(entity));
+                values.forEach(value -> dictionary.put(value, 0));
+                rowValues.add(values);
+            }
+            int next = 0;
+            for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                entry.setValue(next++);
+            }
+            int[] rowStart = new int[snapshot.size() + 1];
+            int[] codes = new int[rowValues.stream().mapToInt(List::size).sum()];
+            int position = 0;
+            for (int row = 0; row < rowValues.size(); row++) {
+                rowStart[row] = position;
+                for (String value : rowValues.get(row)) {
+                    codes[position++] = dictionary.get(value);
+                }
+            }
+            rowStart[rowValues.size()] = position;
+            return new Categorical(dictionary.keySet().toArray(String[]::new), rowStart, codes);
+        }
+
+        /** Counts per value over the given rows (all rows when null), most frequent first, zeros omitted. */
+        Map<String, Integer> tally(int[] rows) {
+            int[] counts = new int[dictionary.length];
+            int rowCount = rows == null ? rowStart.length - 1 : rows.length;
+            for (int i = 0; i < rowCount; i++) {
+                int row = rows == null ? i : rows[i];
+                for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+                    counts[codes[k]]++;
+                }
+            }
+            Integer[] order = new Integer[dictionary.length];
+            for (int code = 0; code < order.length; code++) {
+                order[code] = code;
+            }
+            // Dictionary codes are in value order, and the sort is stable, so ties stay alphabetical
+            Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code : order) {
+                if (counts[code] > 0) {
+                    result.put(dictionary[code], counts[code]);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        /** "temperate, Tropical" -> [temperate, tropical]; blank, "n/a" and "unknown" -> [unknown]. */
+        private static List<String> values(String raw) {
+            if (raw == null || raw.isBlank()) return List.of("unknown");
+            List<String> values = new ArrayList<>(2);
+            for (String part : raw.split(",")) {
+                String value = part.trim().toLowerCase();
+                String normalized = value.isEmpty() || "n/a".equals(value) ? "unknown" : value;
+                if (!values.contains(normalized)) {
+                    values.add(normalized);
+                }
+            }
+            return values;
+        }
+    }
+
+    /** Bucketed numeric column; bucketOf[r] is the bucket of row r, or -1 when it has no value. */
+    private static final class Numeric {
+        private final long[] bounds;
+        private final int[] bucketOf;
+        private final Histogram all;
+
+        private Numeric(long[] bounds, int[] bucketOf) {
+            this.bounds = bounds;
+            this.bucketOf = bucketOf;
+            this.all = tally(null);
+        }
+
+        /** Equal-width buckets of a 1, 2 or 5 x 10^n width spanning the snapshot's values. */
+        static <T> Numeric linear(List<T> snapshot, ToDoubleFunction<T> getter) {
+            double[] values = snapshot.stream().mapToDouble(getter).toArray();
+            double min = Arrays.stream(values).filter(v -> !Double.isNaN(v)).min().orElse(Double.NaN);
+            double max = Arrays.stream(values).filter(v -> !Double.isNaN(v)).max().orElse(Double.NaN);
+            if (Double.isNaN(min)) {
+                return new Numeric(new long[0], unknownRows(values.length));
+            }
+            long width = niceWidth((max - min) / TARGET_BUCKETS);
+            long from = Math.floorDiv((long) Math.floor(min), width) * width;
+            int buckets = (int) ((max - from) / width) + 1;
+            long[] bounds = new long[buckets + 1];
+            for (int i = 0; i <= buckets; i++) {
+                bounds[i] = from + i * width;
+            }
+            int[] bucketOf = new int[values.length];
+            for (int row = 0; row < values.length; row++) {
+                bucketOf[row] = Double.isNaN(values[row]) ? -1
+                        : Math.min(buckets - 1, (int) ((values[row] - from) / width));
+            }
+            return new Numeric(bounds, bucketOf);
+        }
+
+        /** Buckets [0, 1), [1, 10), [10, 100) ... up to the snapshot's largest value, for skewed values. */
+        static <T> Numeric decades(List<T> snapshot, ToDoubleFunction<T> getter) {
+            double[] values = snapshot.stream().mapToDouble(getter).toArray();
+            int[] bucketOf = new int[values.length];
+            int buckets = 0;
+            for (int row = 0; row < values.length; row++) {
+                double value = values[row];
+                bucketOf[row] = Double.isNaN(value) ? -1 : value < 1 ? 0 : 1 + (int) Math.floor(Math.log10(value));
+                buckets = Math.max(buckets, bucketOf[row] + 1);
+            }
+            long[] bounds = new long[buckets == 0 ? 0 : buckets + 1];
+            long bound = 1;
+            for (int i = 1; i < bounds.length; i++) {
+                bounds[i] = bound;
+                bound *= 10;
+            }
+            return new Numeric(bounds, bucketOf);
+        }
+
+        Histogram tally(int[] rows) {
+            int[] counts = new int[Math.max(0, bounds.length - 1)];
+            int unknown = 0;
+            int rowCount = rows == null ? bucketOf.length : rows.length;
+            for (int i = 0; i < rowCount; i++) {
+                int bucket = bucketOf[rows == null ? i : rows[i]];
+                if (bucket < 0) unknown++;
+                else counts[bucket]++;
+            }
+            List<Bucket> buckets = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                buckets.add(new Bucket(bounds[i], bounds[i + 1], counts[i]));
+            }
+            return new Histogram(List.copyOf(buckets), unknown);
+        }
+
+        private static long niceWidth(double raw) {
+            if (raw <= 1) return 1;
+            long magnitude = (long) Math.pow(10, Math.floor(Math.log10(raw)));
+            for (long step : new long[]{1, 2, 5, 10}) {
+                if (step * magnitude >= raw) return step * magnitude;
+            }
+            return 10 * magnitude;
+        }
+
+        private static int[] unknownRows(int rows) {
+            int[] bucketOf = new int[rows];
+            Arrays.fill(bucketOf, -1);
+            return bucketOf;
+        }
+    }
+}
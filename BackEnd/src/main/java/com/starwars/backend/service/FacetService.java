@@ -0,0 +1,90 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.model.Facets;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value counts and histograms of the entities matching a search, for filter panels and charts.
+ * A {@link FacetIndex} is built once per unfiltered dataset snapshot (identity-keyed, weakly held, like the
+ * suggest indexes); a search is applied to the index's name column the way SWAPI applies it (case-insensitive
+ * substring of the name), so no filtered dataset is loaded, crawled or paged and the cost does not depend on
+ * any page size. Aggregations are timed as starwars.facets.
+ */
+@Slf4j
+@Service
+public class FacetService {
+
+    private final SwCacheService cacheService;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<List<?>, FacetIndex> indexes = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public FacetService(SwCacheService cacheService, MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Aggregates the requested facet fields (comma-separated; all fields of the resource when blank)
+     * over the entities whose name contains the search term.
+     *
+     * @throws ResponseStatusException 400 for an unknown resource or facet field
+     */
+    @SuppressWarnings("unchecked")
+    public Facets facets(String resource, String fields, String search) {
+        FacetIndex index = switch (resource) {
+            case "people" -> indexes.get(cacheService.loadAllPeople(null),
+                    snapshot -> build(resource, FacetIndex.people((List<PeopleDto>) snapshot)));
+            case "planets" -> indexes.get(cacheService.loadAllPlanets(null),
+                    snapshot -> build(resource, FacetIndex.planets((List<PlanetDto>) snapshot)));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown resource: " + resource);
+        };
+        List<String> requested = requestedFields(fields, index.fields());
+        String searchKey = search == null || search.isBlank() ? "ALL" : PageQuery.searchKey(search.trim());
+        return Timer.builder("starwars.facets")
+                .description("Time to aggregate facets from the per-snapshot column index")
+                .tag("resource", resource)
+                .register(meterRegistry)
+                .record(() -> index.facets(requested, searchKey));
+    }
+
+    private static FacetIndex build(String resource, FacetIndex index) {
+        log.debug("Built facet index for {} ({})", resource, index.fields());
+        return index;
+    }
+
+    private static List<String> requestedFields(String fields, Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return List.copyOf(available);
+        }
+        List<String> requested = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim().toLowerCase();
+            if (name.isEmpty() || requested.contains(name)) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown facet field: " + name + ". Available: " + String.join(", ", available) + ".");
+            }
+            requested.add(name);
+        }
+        return requested.isEmpty() ? List.copyOf(available) : requested;
+    }
+}
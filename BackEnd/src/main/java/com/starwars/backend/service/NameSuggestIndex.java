@@ -0,0 +1,276 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.HasName;
+import com.starwars.backend.model.HasUrl;
+import com.starwars.backend.model.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable typeahead index over the names of one dataset snapshot.
+ *
+ * Names are kept in one array sorted case-insensitively, so an entity's position (its ordinal) is also its
+ * rank by name, and all names starting with a prefix form one contiguous ordinal range found by binary search.
+ * Infix matches are word prefixes inside a name ("sky" in "Luke Skywalker"): every word start after the first
+ * is stored as (ordinal, offset) in a second array sorted by the text from that offset, which is the sorted
+ * suffix list of a compacted suffix array restricted to word boundaries. No substrings are materialized.
+ *
+ * The infix range of a short query can hold a large share of all word starts, so it is never scanned.
+ * A segment tree over the ordinals of the infix array answers "position of the smallest ordinal in a
+ * range" in O(log n); the best infix matches are pulled from the range in ascending ordinal order by
+ * repeatedly taking the minimum and splitting the range around it. A lookup therefore costs a few binary
+ * searches plus O(limit log n) tree queries, whatever the number of matches. Suggestions themselves are
+ * created once at build time.
+ */
+public final class NameSuggestIndex {
+
+    /** Order of the returned suggestions. */
+    public enum Ranking {
+        /** Names starting with the query first, then names with a later word starting with it; each by name. */
+        PREFIX_FIRST,
+        /** All matches by name. */
+        NAME
+    }
+
+    private final String[] lowerNames;
+    private final Suggestion[] suggestions;
+    /** Word starts after the first word, as ordinal << 32 | offset, sorted by the lower-cased text from there. */
+    private final long[] infixes;
+    /** Ordinal of each infix entry. */
+    private final int[] infixOrdinals;
+    /** Segment tree over infixOrdinals: node i holds the position of the smallest ordinal below it; leaves at n + i. */
+    private final int[] minTree;
+
+    private NameSuggestIndex(String[] lowerNames, Suggestion[] suggestions, long[] infixes) {
+        this.lowerNames = lowerNames;
+        this.suggestions = suggestions;
+        this.infixes = infixes;
+        int n = infixes.length;
+        this.infixOrdinals = new int[n];
+        this.minTree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            infixOrdinals[i] = ordinal(infixes[i]);
+            minTree[n + i] = i;
+        }
+        for (int node = n - 1; node > 0; node--) {
+            minTree[node] = smaller(minTree[2 * node], minTree[2 * node + 1]);
+        }
+    }
+
+    /** Builds the index over every named entity of a snapshot. */
+    public static NameSuggestIndex build(List<?> snapshot) {
+        List<Suggestion> named = new ArrayList<>(snapshot.size());
+        for (Object entity : snapshot) {
+            if (entity instanceof HasName hasName && hasName.getName() != null) {
+                String url = entity instanceof HasUrl hasUrl ? hasUrl.getUrl() : null;
+                named.add(new Suggestion(idOf(url), hasName.getName()));
+            }
+        }
+        named.sort(Comparator.comparing((Suggestion s) -> s.name().toLowerCase()).thenComparing(Suggestion::name));
+
+        Suggestion[] suggestions = named.toArray(Suggestion[]::new);
+        String[] lowerNames = new String[suggestions.length];
+        int wordStarts = 0;
+        for (int i = 0; i < suggestions.length; i++) {
+            lowerNames[i] = suggestions[i].name().toLowerCase();
+            for (int offset = 1; offset < lowerNames[i].length(); offset++) {
+                if (isWordStart(lowerNames[i], offset)) wordStarts++;
+            }
+        }
+
+        Long[] boxed = new Long[wordStarts];
+        int next = 0;
+        for (int i = 0; i < lowerNames.length; i++) {
+            for (int offset = 1; offset < lowerNames[i].length(); offset++) {
+                if (isWordStart(lowerNames[i], offset)) boxed[next++] = ((long) i << 32) | offset;
+            }
+        }
+        Arrays.sort(boxed, (a, b) -> compareFrom(lowerNames[ordinal(a)], offset(a), lowerNames[ordinal(b)], offset(b)));
+        long[] infixes = new long[wordStarts];
+        for (int i = 0; i < wordStarts; i++) {
+            infixes[i] = boxed[i];
+        }
+        return new NameSuggestIndex(lowerNames, suggestions, infixes);
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * Up to {@code limit} names matching the query as a prefix of the name or of one of its words.
+     * Matching is case-insensitive; a blank query matches nothing.
+     */
+    public List<Suggestion> suggest(String query, int limit, Ranking ranking) {
+        String q = query == null ? "" : query.trim().toLowerCase();
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int prefixFrom = lowerBound(q);
+        int prefixTo = prefixFrom;
+        while (prefixTo < lowerNames.length && prefixTo - prefixFrom < limit && lowerNames[prefixTo].startsWith(q)) {
+            prefixTo++;
+        }
+
+        int[] top = new int[limit];
+        int count = 0;
+        // Prefix matches are contiguous and already in name order; the first `limit` of them are the best
+        for (int ordinal = prefixFrom; ordinal < prefixTo; ordinal++) {
+            top[count++] = ordinal;
+        }
+        if (ranking == Ranking.PREFIX_FIRST && count == limit) {
+            return toList(top, count);
+        }
+
+        int prefixCount = count;
+        int[] infixTop = ranking == Ranking.PREFIX_FIRST ? new int[limit - prefixCount] : top;
+        int infixCount = ranking == Ranking.PREFIX_FIRST ? 0 : count;
+        int from = infixLowerBound(q);
+        int to = infixUpperBound(q, from);
+        // Ranges still to visit as {position of their smallest ordinal, from, to}, smallest ordinal first
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(Comparator.comparingInt((int[] r) -> infixOrdinals[r[0]]));
+        if (from < to) {
+            ranges.add(new int[]{argMin(from, to), from, to});
+        }
+        int previous = -1;
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int position = range[0];
+            int ordinal = infixOrdinals[position];
+            // Ordinals come out ascending: once the buffer is full, nothing later can displace its last entry
+            if (infixCount == infixTop.length && (infixCount == 0 || ordinal >= infixTop[infixCount - 1])) {
+                break;
+            }
+            if (position > range[1]) {
+                ranges.add(new int[]{argMin(range[1], position), range[1], position});
+            }
+            if (position + 1 < range[2]) {
+                ranges.add(new int[]{argMin(position + 1, range[2]), position + 1, range[2]});
+            }
+            // Skip further word starts of the same name, and names already listed as prefix matches
+            if (ordinal == previous || (ordinal >= prefixFrom && ordinal < prefixTo)) {
+                continue;
+            }
+            previous = ordinal;
+            infixCount = insert(infixTop, infixCount, ordinal);
+        }
+        if (ranking == Ranking.NAME) {
+            return toList(top, infixCount);
+        }
+        System.arraycopy(infixTop, 0, top, prefixCount, infixCount);
+        return toList(top, prefixCount + infixCount);
+    }
+
+    /** First ordinal whose name is not less than the query. */
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = lowerNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowerNames[mid].compareTo(q) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** First infix whose text is not less than the query. */
+    private int infixLowerBound(String q) {
+        int low = 0;
+        int high = infixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long entry = infixes[mid];
+            if (compareFrom(lowerNames[ordinal(entry)], offset(entry), q, 0) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** First infix at or after {@code from} whose text does not start with the query. */
+    private int infixUpperBound(String q, int from) {
+        int low = from;
+        int high = infixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long entry = infixes[mid];
+            if (lowerNames[ordinal(entry)].startsWith(q, offset(entry))) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** Position of the smallest ordinal among the infixes in [from, to). */
+    private int argMin(int from, int to) {
+        int n = infixOrdinals.length;
+        int best = -1;
+        for (int left = from + n, right = to + n; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) best = smaller(best, minTree[left++]);
+            if ((right & 1) == 1) best = smaller(best, minTree[--right]);
+        }
+        return best;
+    }
+
+    private int smaller(int a, int b) {
+        if (a < 0) return b;
+        return infixOrdinals[b] < infixOrdinals[a] ? b : a;
+    }
+
+    /** Adds an ordinal to an ascending, duplicate-free buffer that keeps only the smallest values. */
+    private static int insert(int[] top, int count, int ordinal) {
+        if (top.length == 0 || (count == top.length && ordinal >= top[count - 1])) {
+            return count;
+        }
+        int position = Arrays.binarySearch(top, 0, count, ordinal);
+        if (position >= 0) {
+            return count;
+        }
+        position = -position - 1;
+        int moved = Math.min(count, top.length - 1) - position;
+        System.arraycopy(top, position, top, position + 1, moved);
+        top[position] = ordinal;
+        return Math.min(count + 1, top.length);
+    }
+
+    private List<Suggestion> toList(int[] ordinals, int count) {
+        Suggestion[] result = new Suggestion[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = suggestions[ordinals[i]];
+        }
+        return Arrays.asList(result);
+    }
+
+    private static int compareFrom(String a, int fromA, String b, int fromB) {
+        int lengthA = a.length() - fromA;
+        int lengthB = b.length() - fromB;
+        int n = Math.min(lengthA, lengthB);
+        for (int i = 0; i < n; i++) {
+            int diff = a.charAt(fromA + i) - b.charAt(fromB + i);
+            if (diff != 0) return diff;
+        }
+        return lengthA - lengthB;
+    }
+
+    private static boolean isWordStart(String name, int offset) {
+        return Character.isLetterOrDigit(name.charAt(offset)) && !Character.isLetterOrDigit(name.charAt(offset - 1));
+    }
+
+    private static int ordinal(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int offset(long entry) {
+        return (int) entry;
+    }
+
+    /** "https://swapi.info/api/people/1/" -> "1". */
+    private static String idOf(String url) {
+        if (url == null) return null;
+        int end = url.endsWith("/") ? url.length() - 1 : url.length();
+        int start = url.lastIndexOf('/', end - 1) + 1;
+        return start < end ? url.substring(start, end) : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.model.HasName;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * Answers dataset lookups that cannot produce anything without going upstream.
+ *
+ * No matches: SWAPI search is a case-insensitive substring match on the name, so a term containing any
+ * character, pair or triple of characters that appears in no name of the unfiltered dataset cannot match.
+ * Every time a resource's unfiltered ("ALL") snapshot is loaded, the 1-, 2- and 3-grams of its names are
+ * indexed; a search whose n-grams are not all in the index is answered with an empty list, so typos and
+ * random strings never trigger a crawl. The check has no false negatives for the snapshot it was built
+ * from; an index older than starwars.negative.index-ttl (the dataset cache TTL) is ignored.
+ *
+ * Recent failures: a crawl that failed is remembered for starwars.negative.error-ttl, and lookups of the
+ * same dataset fail fast with 503 instead of retrying upstream on every request. Zero disables it.
+ *
+ * Both short-circuits are counted as starwars.negative.hits (resource, reason = no-match | recent-error).
+ */
+@Slf4j
+@Component
+public class NegativeLookup {
+
+    private final MeterRegistry meterRegistry;
+    private final long indexTtlNanos;
+    private final Map<String, NameIndex> indexes = new ConcurrentHashMap<>();
+    /** resource:searchKey -> failure of the last crawl; null when error caching is disabled. */
+    private final Cache<String, RuntimeException> failures;
+
+    public NegativeLookup(MeterRegistry meterRegistry,
+                          @Value("${starwars.negative.index-ttl:10m}") Duration indexTtl,
+                          @Value("${starwars.negative.error-ttl:5s}") Duration errorTtl) {
+        this.meterRegistry = meterRegistry;
+        this.indexTtlNanos = indexTtl.toNanos();
+        this.failures = errorTtl.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(errorTtl)
+                .maximumSize(1000)
+                .build();
+    }
+
+    /** Rebuilds the n-gram index of a resource from its unfiltered snapshot. */
+    public void index(String resource, List<?> all) {
+        LongStream.Builder grams = LongStream.builder();
+        for (Object entity : all) {
+            if (entity instanceof HasName named && named.getName() != null) {
+                String name = named.getName().toLowerCase();
+                for (int i = 0; i < name.length(); i++) {
+                    for (int n = 1; n <= 3 && i + n <= name.length(); n++) {
+                        grams.add(gram(name, i, n));
+                    }
+                }
+            }
+        }
+        long[] sorted = grams.build().sorted().distinct().toArray();
+        indexes.put(resource, new NameIndex(sorted, System.nanoTime()));
+        log.debug("Indexed {} name n-grams for {} ({} entities)", sorted.length, resource, all.size());
+    }
+
+    /**
+     * True when the search term cannot match any name of the resource's current snapshot.
+     * False whenever that is not certain: no or expired index, blank term, or every n-gram present.
+     */
+    public boolean definitelyEmpty(String resource, String searchKey) {
+        NameIndex index = indexes.get(resource);
+        if (index == null || System.nanoTime() - index.builtAt() > indexTtlNanos || searchKey.isBlank()) {
+            return false;
+        }
+        int n = Math.min(3, searchKey.length());
+        for (int i = 0; i + n <= searchKey.length(); i++) {
+            if (Arrays.binarySearch(index.grams(), gram(searchKey, i, n)) < 0) {
+                count(resource, "no-match");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Remembers a failed crawl so lookups of the same dataset fail fast for a while. */
+    public void recordFailure(String resource, String searchKey, RuntimeException failure) {
+        if (failures != null) {
+            failures.put(resource + ":" + searchKey, failure);
+        }
+    }
+
+    /**
+     * Fails fast when the last crawl of this dataset failed recently.
+     *
+     * @throws ResponseStatusException 503 carrying the original failure as cause
+     */
+    public void checkRecentFailure(String resource, String searchKey) {
+        RuntimeException failure = failures == null ? null : failures.getIfPresent(resource + ":" + searchKey);
+        if (failure != null) {
+            count(resource, "recent-error");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Upstream request failed recently. Please retry later.", failure);
+        }
+    }
+
+    /** Packs 1 to 3 chars and the gram length into one long. */
+    private static long gram(String text, int start, int length) {
+        long packed = length;
+        for (int i = 0; i < length; i++) {
+            packed = (packed << 16) | text.charAt(start + i);
+        }
+        return packed;
+    }
+
+    private void count(String resource, String reason) {
+        meterRegistry.counter("starwars.negative.hits", "resource", resource, "reason", reason).increment();
+    }
+
+    private record NameIndex(long[] grams, long builtAt) {
+    }
+}
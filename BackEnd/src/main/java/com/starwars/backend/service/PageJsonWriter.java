@@ -0,0 +1,225 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Writes PageDto responses by concatenating pre-serialized entity fragments.
+ * Each entity is encoded through the application ObjectMapper once per snapshot (entities are
+ * weakly held by identity, so a reloaded snapshot gets fresh fragments and old ones are collected).
+ * The page envelope is written by hand in the same property order Jackson uses for PageDto,
+ * so the output is byte-identical to objectMapper.writeValueAsBytes(page).
+ *
+ * Sparse fieldsets: every distinct field set gets its own pre-built ObjectWriter (bound to the
+ * JacksonConfig fields filter) and its own fragment cache, so projections cost no per-request reflection.
+ */
+@Service
+public class PageJsonWriter {
+
+    /** Canonical field set meaning "all properties". */
+    public static final String ALL_FIELDS = "";
+
+    private static final byte[] PAGE = ascii("{\"page\":");
+    private static final byte[] SIZE = ascii(",\"size\":");
+    private static final byte[] TOTAL = ascii(",\"total\":");
+    private static final byte[] ITEMS = ascii(",\"items\":");
+    private static final byte[] NULL = ascii("null");
+
+    /** Room for the envelope: property names plus three numbers. */
+    private static final int ENVELOPE_BYTES = 64;
+
+    /** Bound on distinct projections kept around, so random field combinations can't grow memory. */
+    private static final int MAX_FIELD_SETS = 64;
+
+    private final ObjectMapper objectMapper;
+    private final Projection full;
+
+    /** Canonical field set -> projection (writer + fragment cache). */
+    private final Cache<String, Projection> projections = Caffeine.newBuilder()
+            .maximumSize(MAX_FIELD_SETS)
+            .build();
+
+    /** Entity type -> JSON property names it can serialize, resolved once per type. */
+    private final Map<Class<?>, Set<String>> knownFields = new ConcurrentHashMap<>();
+
+    public PageJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.full = new Projection(objectMapper.writer());
+    }
+
+    /**
+     * Validates a comma-separated "fields" parameter against the entity type and returns its
+     * canonical form (sorted, de-duplicated), or {@link #ALL_FIELDS} when absent.
+     *
+     * @throws ResponseStatusException 400 when a requested field does not exist on the type
+     */
+    public String fieldSet(Class<?> type, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        Set<String> known = knownFields.computeIfAbsent(type, this::introspect);
+        Set<String> requested = new TreeSet<>();
+        for (String raw : fields.split(",")) {
+            String name = raw.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) continue;
+            if (!known.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        String.format("Unknown field '%s'. Supported: %s.", raw.trim(), String.join(", ", known)));
+            }
+            requested.add(name);
+        }
+        return requested.isEmpty() ? ALL_FIELDS : String.join(",", requested);
+    }
+
+    /** Serialized JSON of a single entity, encoded on first use and reused afterwards. */
+    public byte[] fragment(Object entity) {
+        return full.fragment(entity);
+    }
+
+    /** Serialized JSON of a single entity projected to the given canonical field set. */
+    public byte[] fragment(Object entity, String fieldSet) {
+        return projection(fieldSet).fragment(entity);
+    }
+
+    /** The writer behind a canonical field set, for streaming entities without caching their fragments. */
+    public ObjectWriter writer(String fieldSet) {
+        return projection(fieldSet).writer;
+    }
+
+    /** Serializes the page into an exactly sized byte array. */
+    public byte[] toBytes(PageDto<?> page) {
+        return toBytes(page, ALL_FIELDS);
+    }
+
+    /** Serializes the page, projecting items to the canonical field set. */
+    public byte[] toBytes(PageDto<?> page, String fieldSet) {
+        Projection projection = projection(fieldSet);
+        List<?> items = page.getItems();
+        int capacity = ENVELOPE_BYTES;
+        if (items != null) {
+            for (Object item : items) {
+                capacity += projection.fragment(item).length + 1;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(capacity);
+        try {
+            write(page, projection, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /** Streams the page envelope and the entity fragments straight to the given output. */
+    public void write(PageDto<?> page, OutputStream out) throws IOException {
+        write(page, full, out);
+    }
+
+    /** Streams the page with items projected to the canonical field set. */
+    public void write(PageDto<?> page, String fieldSet, OutputStream out) throws IOException {
+        write(page, projection(fieldSet), out);
+    }
+
+    private void write(PageDto<?> page, Projection projection, OutputStream out) throws IOException {
+        out.write(PAGE);
+        out.write(ascii(Integer.toString(page.getPage())));
+        out.write(SIZE);
+        out.write(ascii(Integer.toString(page.getSize())));
+        out.write(TOTAL);
+        out.write(ascii(Long.toString(page.getTotal())));
+        out.write(ITEMS);
+
+        List<?> items = page.getItems();
+        if (items == null) {
+            out.write(NULL);
+        } else {
+            out.write('[');
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object item = items.get(i);
+                out.write(item == null ? NULL : projection.fragment(item));
+            }
+            out.write(']');
+        }
+        out.write('}');
+    }
+
+    private Projection projection(String fieldSet) {
+        if (fieldSet == null || fieldSet.isEmpty()) {
+            return full;
+        }
+        return projections.get(fieldSet, fs -> {
+            Set<String> include = Arrays.stream(fs.split(",")).collect(Collectors.toSet());
+            SimpleFilterProvider filters = new SimpleFilterProvider()
+                    .addFilter(JacksonConfig.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(include));
+            return new Projection(objectMapper.writer(filters));
+        });
+    }
+
+    private Set<String> introspect(Class<?> type) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** A pre-built writer for one field set plus the fragments it has produced. */
+    private static final class Projection {
+
+        private final ObjectWriter writer;
+
+        /** Entity instance -> its serialized JSON object. Identity-based through weak keys. */
+        private final Cache<Object, byte[]> fragments = Caffeine.newBuilder()
+                .weakKeys()
+                .build();
+
+        private Projection(ObjectWriter writer) {
+            this.writer = writer;
+        }
+
+        private byte[] fragment(Object entity) {
+            return fragments.get(entity, this::encode);
+        }
+
+        private byte[] encode(Object entity) {
+            try {
+                return writer.writeValueAsBytes(entity);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize " + entity.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
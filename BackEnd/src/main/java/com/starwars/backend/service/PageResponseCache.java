@@ -0,0 +1,142 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.jfr.ResponseWriteEvent;
+import com.starwars.backend.model.EncodedPage;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PageResponse;
+import com.starwars.backend.model.ResponseFormat;
+import com.starwars.backend.util.RequestStages;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache of fully serialized page responses.
+ * Entries are keyed by the normalized query plus the snapshot version of the dataset they were built from,
+ * so a hot page (e.g. people page 0 sorted by name) is sorted, sliced and serialized once per snapshot.
+ * When a dataset changes version, stale entries for it are dropped eagerly.
+ * Serialization time and response size are recorded per format and projection
+ * (starwars.response.serialization / starwars.response.size, tags "format" and "fields" = all | projected;
+ * the exact field set is user-supplied, so it only goes to the JFR ResponseWriteEvent).
+ * Pages at or above starwars.compression.min-size bytes also store a gzip variant, compressed once on insert.
+ */
+@Slf4j
+@Service
+public class PageResponseCache {
+
+    /** Upper bound for cached response bytes across all entries. */
+    private static final long MAX_CACHED_BYTES = 32L * 1024 * 1024;
+
+    private final PageJsonWriter jsonWriter;
+    private final BinaryPageWriter binaryWriter;
+    private final SnapshotVersionService versions;
+    private final MeterRegistry meterRegistry;
+    private final int compressionMinSize;
+
+    private final Cache<Key, EncodedPage> pages = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_BYTES)
+            .weigher((Key key, EncodedPage page) -> page.weight())
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    public PageResponseCache(PageJsonWriter jsonWriter,
+                             BinaryPageWriter binaryWriter,
+                             SnapshotVersionService versions,
+                             MeterRegistry meterRegistry,
+                             @Value("${starwars.compression.min-size:1024}") int compressionMinSize) {
+        this.jsonWriter = jsonWriter;
+        this.binaryWriter = binaryWriter;
+        this.versions = versions;
+        this.meterRegistry = meterRegistry;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    /** Validates and canonicalizes a "fields" parameter for the entity type (see PageJsonWriter). */
+    public String fieldSet(Class<?> type, String fields) {
+        return jsonWriter.fieldSet(type, fields);
+    }
+
+    /**
+     * Resolves the response for a query against a dataset snapshot.
+     * The ETag is computed immediately; the page is only built (via pageSupplier) and serialized
+     * when the body is requested and not already cached for this snapshot version.
+     */
+    public PageResponse get(PageQuery query, List<?> snapshot, Supplier<PageDto<?>> pageSupplier) {
+        String version = versions.versionOf(query.resource(), query.searchKey(), snapshot);
+        Key key = new Key(query, version);
+        String etag = etag(version, query);
+        return new PageResponse(etag, () -> pages.get(key, k -> serialize(k, pageSupplier.get())));
+    }
+
+    /**
+     * Whether the page for this query is already serialized for the dataset's current snapshot.
+     * Only two map lookups and no dataset access, so it is cheap enough to call before admitting a request.
+     */
+    public boolean isCached(PageQuery query) {
+        String version = versions.currentVersion(query.resource(), query.searchKey());
+        return version != null && pages.getIfPresent(new Key(query, version)) != null;
+    }
+
+    /** Strong ETag derived from the snapshot version and the normalized query. */
+    static String etag(String version, PageQuery query) {
+        return "\"" + version + "-" + SnapshotVersionService.digest(query.canonical()) + "\"";
+    }
+
+    /** Drops pages built from an older snapshot of the dataset that just changed. */
+    @EventListener
+    public void onSnapshotChanged(SnapshotChangedEvent event) {
+        String datasetKey = event.datasetKey();
+        pages.asMap().keySet().removeIf(k ->
+                k.query().datasetKey().equals(datasetKey) && !k.version().equals(event.version()));
+        log.debug("Evicted cached pages for '{}' older than version {}", datasetKey, event.version());
+    }
+
+    private EncodedPage serialize(Key key, PageDto<?> page) {
+        PageQuery query = key.query();
+        String fields = query.fields().isEmpty() ? "all" : query.fields();
+        String projection = query.fields().isEmpty() ? "all" : "projected";
+        String format = query.format().name().toLowerCase();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ResponseWriteEvent event = new ResponseWriteEvent();
+        event.begin();
+        byte[] body = query.format() == ResponseFormat.JSON
+                ? jsonWriter.toBytes(page, query.fields())
+                : binaryWriter.toBytes(page, query.format(), query.fields());
+        if (event.shouldCommit()) {
+            event.resource = query.resource();
+            event.format = format;
+            event.fields = fields;
+            event.itemCount = page.getItems() == null ? 0 : page.getItems().size();
+            event.bytes = body.length;
+            event.commit();
+        }
+        RequestStages.add("serialize", sample.stop(Timer.builder("starwars.response.serialization")
+                .description("Time to serialize a page response")
+                .tags("resource", query.resource(), "fields", projection, "format", format)
+                .register(meterRegistry)));
+        DistributionSummary.builder("starwars.response.size")
+                .description("Serialized page response size")
+                .baseUnit("bytes")
+                .tags("resource", query.resource(), "fields", projection, "format", format)
+                .register(meterRegistry)
+                .record(body.length);
+        EncodedPage encoded = EncodedPage.of(body, compressionMinSize);
+        log.debug("Cached serialized page {} (version {}, {} bytes, gzip {})", key.query().canonical(), key.version(),
+                body.length, encoded.getGzip() == null ? "-" : encoded.getGzip().length);
+        return encoded;
+    }
+
+    private record Key(PageQuery query, String version) {
+    }
+}
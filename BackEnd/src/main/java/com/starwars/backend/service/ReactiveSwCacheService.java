@@ -0,0 +1,48 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.client.SwapiClient;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of SwCacheService for the reactive serving mode.
+ * Backed by Caffeine AsyncCaches built from the same spec as the Spring cache manager, so entries live
+ * exactly as long. Concurrent misses for the same key share one in-flight upstream crawl and nobody
+ * blocks while waiting for it; failed loads are not cached.
+ */
+@Service
+public class ReactiveSwCacheService {
+
+    private final SwapiClient swapiClient;
+    private final AsyncCache<String, List<PeopleDto>> people;
+    private final AsyncCache<String, List<PlanetDto>> planets;
+
+    public ReactiveSwCacheService(SwapiClient swapiClient, Caffeine<Object, Object> caffeineConfig) {
+        this.swapiClient = swapiClient;
+        this.people = caffeineConfig.buildAsync();
+        this.planets = caffeineConfig.buildAsync();
+    }
+
+    public Mono<List<PeopleDto>> loadAllPeople(String search) {
+        return load(people.get(PageQuery.searchKey(search), (key, executor) ->
+                swapiClient.fetchAllPeople(search).defaultIfEmpty(List.of()).toFuture()));
+    }
+
+    public Mono<List<PlanetDto>> loadAllPlanets(String search) {
+        return load(planets.get(PageQuery.searchKey(search), (key, executor) ->
+                swapiClient.fetchAllPlanets(search).defaultIfEmpty(List.of()).toFuture()));
+    }
+
+    /** Cancelling one subscriber must not cancel the shared load other requests are waiting on. */
+    private static <T> Mono<T> load(CompletableFuture<T> shared) {
+        return Mono.fromFuture(shared, true);
+    }
+}
@@ -0,0 +1,37 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive facade used by the WebFlux serving mode.
+ * Loads datasets through ReactiveSwCacheService and applies the same sorting and pagination as SwService,
+ * without any blocking call on the request path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveSwService {
+
+    private final ReactiveSwCacheService cacheService;
+    private final SwService swService;
+
+    public Mono<PageDto<PeopleDto>> getPeople(int page, int size, String search, String sort, String dir) {
+        log.debug("Reactive request: getPeople(page={}, size={}, search='{}', sort='{}', dir='{}')",
+                page, size, search, sort, dir);
+        return cacheService.loadAllPeople(search)
+                .map(all -> swService.fetchPage(all, PeopleDto.class, page, size, sort, dir));
+    }
+
+    public Mono<PageDto<PlanetDto>> getPlanets(int page, int size, String search, String sort, String dir) {
+        log.debug("Reactive request: getPlanets(page={}, size={}, search='{}', sort='{}', dir='{}')",
+                page, size, search, sort, dir);
+        return cacheService.loadAllPlanets(search)
+                .map(all -> swService.fetchPage(all, PlanetDto.class, page, size, sort, dir));
+    }
+}
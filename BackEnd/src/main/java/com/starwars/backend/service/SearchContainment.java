@@ -0,0 +1,90 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.HasName;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a search from an already cached broader search instead of crawling upstream.
+ *
+ * SWAPI search is a case-insensitive substring match on the name, so every result for "luk" is also a
+ * result for "lu", and every result for anything is in the unfiltered dataset. When a search misses the
+ * dataset cache, the cached entries of the same resource whose key is contained in the new term (or the
+ * unfiltered "ALL" entry) are supersets; the smallest one is filtered locally and returned.
+ *
+ * Lookups are counted as starwars.search.derived (resource, result = hit | miss) so the share of searches
+ * served without a crawl can be tracked on its own.
+ */
+@Slf4j
+@Component
+public class SearchContainment {
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public SearchContainment(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Filters the smallest cached superset of the search, or returns null when none is cached.
+     *
+     * @param searchKey lower-cased search term, never "ALL"
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> derive(String resource, String searchKey) {
+        List<?> superset = smallestSuperset(resource, searchKey);
+        if (superset == null) {
+            count(resource, "miss");
+            return null;
+        }
+        List<T> result = (List<T>) superset.stream()
+                .filter(entity -> entity instanceof HasName named && named.getName() != null
+                        && named.getName().toLowerCase().contains(searchKey))
+                .toList();
+        count(resource, "hit");
+        log.debug("Derived {} search '{}' from a cached superset of {} ({} matches)",
+                resource, searchKey, superset.size(), result.size());
+        return result;
+    }
+
+    private List<?> smallestSuperset(String resource, String searchKey) {
+        Map<?, ?> entries = entries(cacheManager.getCache(resource + "All"));
+        if (entries == null) {
+            return null;
+        }
+        List<?> smallest = null;
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            if (entry.getKey() instanceof String cachedKey && !cachedKey.equals(searchKey)
+                    && ("ALL".equals(cachedKey) || searchKey.contains(cachedKey))
+                    && entry.getValue() instanceof List<?> candidate
+                    && (smallest == null || candidate.size() < smallest.size())) {
+                smallest = candidate;
+            }
+        }
+        return smallest;
+    }
+
+    /** Live view of a Caffeine or ConcurrentMap backed Spring cache; null for anything else. */
+    private static Map<?, ?> entries(Cache cache) {
+        if (cache == null) {
+            return null;
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.asMap();
+        }
+        return nativeCache instanceof Map<?, ?> map ? map : null;
+    }
+
+    private void count(String resource, String result) {
+        meterRegistry.counter("starwars.search.derived", "resource", resource, "result", result).increment();
+    }
+}
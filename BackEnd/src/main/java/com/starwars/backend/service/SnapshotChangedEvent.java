@@ -0,0 +1,23 @@
+package com.starwars.backend.service;
+
+import java.util.List;
+
+/**
+ * Published when a dataset (resource + search key) is reloaded and its content differs
+ * from the previously observed snapshot.
+ *
+ * @param resource        logical resource name ("people", "planets")
+ * @param searchKey       dataset cache key ("ALL" or the lower-cased search term)
+ * @param previousVersion version that was current before the reload
+ * @param version         version of the newly loaded snapshot
+ * @param added           URLs of entities present only in the new snapshot
+ * @param changed         URLs of entities whose serialized content differs between the snapshots
+ * @param removed         URLs of entities present only in the previous snapshot
+ */
+public record SnapshotChangedEvent(String resource, String searchKey, String previousVersion, String version,
+                                   List<String> added, List<String> changed, List<String> removed) {
+
+    public String datasetKey() {
+        return resource + ":" + searchKey;
+    }
+}
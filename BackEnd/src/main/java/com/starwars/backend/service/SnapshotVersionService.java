@@ -0,0 +1,147 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.model.HasUrl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns content-derived versions to cached dataset snapshots.
+ * A version is computed once per list instance returned by SwCacheService (identity-keyed, weakly held),
+ * so repeated requests against the same cached snapshot only pay a map lookup.
+ * Because the version is a content hash, a reload that returns identical data keeps the same version
+ * and previously issued ETags stay valid. Hashing runs over the per-entity JSON fragments,
+ * which also warms them up for page assembly.
+ *
+ * For change summaries, the last observed snapshot of every dataset key is remembered as a compact
+ * URL -> content fingerprint map (not the entities themselves), so a change can be reported as
+ * the added, changed and removed entity URLs.
+ */
+@Slf4j
+@Service
+public class SnapshotVersionService {
+
+    /** Hex characters kept from the SHA-256 digest; 64 bits is plenty to tell snapshots apart. */
+    private static final int VERSION_LENGTH = 16;
+
+    private final PageJsonWriter jsonWriter;
+    private final ApplicationEventPublisher events;
+
+    /** Dataset list instance -> version. Weak keys use identity, so a reloaded list gets a fresh entry. */
+    private final Cache<List<?>, String> versionsBySnapshot = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /** Dataset key (resource:search) -> last observed snapshot, used to detect and summarize changes. */
+    private final Cache<String, Observed> currentSnapshots = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .maximumSize(1000)
+            .build();
+
+    public SnapshotVersionService(PageJsonWriter jsonWriter, ApplicationEventPublisher events) {
+        this.jsonWriter = jsonWriter;
+        this.events = events;
+    }
+
+    /**
+     * Returns the version of the given dataset snapshot, computing it on first sight.
+     * Publishes a {@link SnapshotChangedEvent} when the dataset key now points at different content.
+     */
+    public String versionOf(String resource, String searchKey, List<?> snapshot) {
+        String cached = versionsBySnapshot.getIfPresent(snapshot);
+        if (cached != null) {
+            return cached;
+        }
+        String version = versionsBySnapshot.get(snapshot, this::computeVersion);
+        String datasetKey = resource + ":" + searchKey;
+        Observed current = new Observed(version, fingerprints(snapshot));
+        Observed previous = currentSnapshots.asMap().put(datasetKey, current);
+        if (previous != null && !previous.version().equals(version)) {
+            SnapshotChangedEvent event = diff(resource, searchKey, previous, current);
+            log.info("Snapshot changed for '{}': {} -> {} (added={}, changed={}, removed={})",
+                    datasetKey, previous.version(), version,
+                    event.added().size(), event.changed().size(), event.removed().size());
+            events.publishEvent(event);
+        }
+        return version;
+    }
+
+    /** Last version observed for a dataset key, or null if it was never loaded (or has aged out). */
+    public String currentVersion(String resource, String searchKey) {
+        Observed observed = currentSnapshots.getIfPresent(resource + ":" + searchKey);
+        return observed == null ? null : observed.version();
+    }
+
+    private static SnapshotChangedEvent diff(String resource, String searchKey, Observed previous, Observed current) {
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : current.fingerprints().entrySet()) {
+            Long before = previous.fingerprints().get(entry.getKey());
+            if (before == null) {
+                added.add(entry.getKey());
+            } else if (!before.equals(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        List<String> removed = previous.fingerprints().keySet().stream()
+                .filter(url -> !current.fingerprints().containsKey(url))
+                .toList();
+        return new SnapshotChangedEvent(resource, searchKey, previous.version(), current.version(),
+                List.copyOf(added), List.copyOf(changed), removed);
+    }
+
+    /** Entity URL -> first 64 bits of the SHA-256 of its JSON fragment. */
+    private Map<String, Long> fingerprints(List<?> snapshot) {
+        MessageDigest sha = sha256();
+        Map<String, Long> fingerprints = new HashMap<>(snapshot.size() * 2);
+        for (Object entity : snapshot) {
+            if (entity instanceof HasUrl identified && identified.getUrl() != null) {
+                byte[] hash = sha.digest(jsonWriter.fragment(entity));
+                fingerprints.put(identified.getUrl(), ByteBuffer.wrap(hash).getLong());
+            }
+        }
+        return fingerprints;
+    }
+
+    private String computeVersion(List<?> snapshot) {
+        MessageDigest sha = sha256();
+        for (Object entity : snapshot) {
+            sha.update(jsonWriter.fragment(entity));
+            sha.update((byte) '\n');
+        }
+        return hex(sha.digest());
+    }
+
+    /** Truncated SHA-256 hex digest, also used for ETags. */
+    static String digest(String text) {
+        return hex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String hex(byte[] hash) {
+        return HexFormat.of().formatHex(hash).substring(0, VERSION_LENGTH);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Observed(String version, Map<String, Long> fingerprints) {
+    }
+}
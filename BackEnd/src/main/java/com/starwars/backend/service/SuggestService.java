@@ -0,0 +1,72 @@
+package com.starwars.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.model.Suggestion;
+import com.starwars.backend.service.NameSuggestIndex.Ranking;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for the search bar: the best matching names and ids of the unfiltered dataset.
+ * A {@link NameSuggestIndex} is built once per dataset snapshot (identity-keyed, weakly held, like the
+ * snapshot versions), so a keystroke costs an index lookup and no sorting, paging or DTO serialization.
+ * Ranking is set by starwars.suggest.ranking; lookups are timed as starwars.suggest.
+ */
+@Slf4j
+@Service
+public class SuggestService {
+
+    /** Upper bound for the limit parameter; suggestions are meant to fit a dropdown. */
+    static final int MAX_LIMIT = 50;
+
+    private final SwCacheService cacheService;
+    private final MeterRegistry meterRegistry;
+    private final Ranking ranking;
+
+    private final Cache<List<?>, NameSuggestIndex> indexes = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public SuggestService(SwCacheService cacheService,
+                          MeterRegistry meterRegistry,
+                          @Value("${starwars.suggest.ranking:PREFIX_FIRST}") Ranking ranking) {
+        this.cacheService = cacheService;
+        this.meterRegistry = meterRegistry;
+        this.ranking = ranking;
+    }
+
+    /**
+     * Up to {@code limit} (1..50) names of the resource matching the query as a prefix of the name or of a word.
+     *
+     * @throws ResponseStatusException 400 for an unknown resource or a limit out of range
+     */
+    public List<Suggestion> suggest(String resource, String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameter 'limit' must be between 1 and " + MAX_LIMIT + ".");
+        }
+        List<?> all = switch (resource) {
+            case "people" -> cacheService.loadAllPeople(null);
+            case "planets" -> cacheService.loadAllPlanets(null);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown resource: " + resource);
+        };
+        NameSuggestIndex index = indexes.get(all, snapshot -> {
+            NameSuggestIndex built = NameSuggestIndex.build(snapshot);
+            log.debug("Built suggest index for {} ({} names)", resource, built.size());
+            return built;
+        });
+        return Timer.builder("starwars.suggest")
+                .description("Time to answer a typeahead query from the suggest index")
+                .tag("resource", resource)
+                .register(meterRegistry)
+                .record(() -> index.suggest(query, limit, ranking));
+    }
+}
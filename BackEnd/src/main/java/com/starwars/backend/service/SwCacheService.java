@@ -1,30 +1,147 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.cache.SharedSnapshotTier;
 import com.starwars.backend.client.SwapiClient;
+import com.starwars.backend.jfr.DatasetLoadEvent;
+import com.starwars.backend.model.PageQuery;
 import com.starwars.backend.model.PeopleDto;
 import com.starwars.backend.model.PlanetDto;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
+/**
+ * Blocking facade over {@link SwapiClient} backing the servlet stack.
+ * Concurrent misses for the same dataset share one upstream crawl: followers park on the
+ * leader's future instead of entering a monitor, so virtual threads never pin their carrier
+ * while the crawl is in flight.
+ * Crawls run on the {@link UpstreamBulkhead} pool, never on the request thread, and callers wait for them
+ * with a deadline. The crawl task writes its result to the dataset cache itself, so a crawl that outlives
+ * its callers' deadline still serves the next caller of the same dataset, for the cache's TTL. A crawl
+ * leaves the in-flight map as soon as it completes, whether or not anyone is still waiting for it.
+ * Searches that {@link NegativeLookup} knows cannot match anything are answered with an empty list, and
+ * datasets whose last crawl failed recently fail fast, both without a crawl. Other searches are first derived
+ * from a cached broader search through {@link SearchContainment}, and only crawled when none is cached.
+ * When the shared tier is enabled (starwars.l2.enabled), the leader first looks for a snapshot published
+ * by another replica and only crawls upstream if none exists, publishing its result for the others.
+ */
 @Service
-@RequiredArgsConstructor
 public class SwCacheService {
     private final SwapiClient swapiClient;
+    private final UpstreamBulkhead bulkhead;
+    private final NegativeLookup negativeLookup;
+    private final SearchContainment containment;
+    private final CacheManager cacheManager;
+    /** Cache tier shared between replicas; null when disabled. */
+    private final SharedSnapshotTier sharedTier;
+
+    private final ConcurrentMap<String, CompletableFuture<List<PeopleDto>>> peopleInFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<List<PlanetDto>>> planetsInFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SwCacheService(SwapiClient swapiClient, UpstreamBulkhead bulkhead, NegativeLookup negativeLookup,
+                          SearchContainment containment, CacheManager cacheManager,
+                          ObjectProvider<SharedSnapshotTier> sharedTier) {
+        this(swapiClient, bulkhead, negativeLookup, containment, cacheManager, sharedTier.getIfAvailable());
+    }
+
+    SwCacheService(SwapiClient swapiClient, UpstreamBulkhead bulkhead, NegativeLookup negativeLookup,
+                   SearchContainment containment, CacheManager cacheManager) {
+        this(swapiClient, bulkhead, negativeLookup, containment, cacheManager, (SharedSnapshotTier) null);
+    }
+
+    SwCacheService(SwapiClient swapiClient, UpstreamBulkhead bulkhead, NegativeLookup negativeLookup,
+                   SearchContainment containment, CacheManager cacheManager, SharedSnapshotTier sharedTier) {
+        this.swapiClient = swapiClient;
+        this.bulkhead = bulkhead;
+        this.negativeLookup = negativeLookup;
+        this.containment = containment;
+        this.cacheManager = cacheManager;
+        this.sharedTier = sharedTier;
+    }
 
     @Cacheable(cacheNames = "peopleAll", key = "#search == null ? 'ALL' : #search.toLowerCase()")
     public List<PeopleDto> loadAllPeople(String search) {
-        return swapiClient.fetchAllPeople(search)
-                .blockOptional()
-                .orElse(List.of());
+        return coalesce("people", PeopleDto.class, peopleInFlight, search, () -> swapiClient.fetchAllPeople(search));
     }
 
     @Cacheable(cacheNames = "planetsAll", key = "#search == null ? 'ALL' : #search.toLowerCase()")
     public List<PlanetDto> loadAllPlanets(String search) {
-        return swapiClient.fetchAllPlanets(search)
-                .blockOptional()
-                .orElse(List.of());
+        return coalesce("planets", PlanetDto.class, planetsInFlight, search, () -> swapiClient.fetchAllPlanets(search));
+    }
+
+    private <T> List<T> coalesce(String resource, Class<T> type, ConcurrentMap<String, CompletableFuture<List<T>>> inFlight,
+                                 String search, Supplier<Mono<List<T>>> fetch) {
+        String key = PageQuery.searchKey(search);
+        DatasetLoadEvent event = new DatasetLoadEvent();
+        event.begin();
+        if (!"ALL".equals(key)) {
+            if (negativeLookup.definitelyEmpty(resource, key)) {
+                return commit(event, resource, key, false, List.of());
+            }
+            List<T> derived = containment.derive(resource, key);
+            if (derived != null) {
+                return commit(event, resource, key, false, derived);
+            }
+        }
+        negativeLookup.checkRecentFailure(resource, key);
+        CompletableFuture<List<T>> own = new CompletableFuture<>();
+        CompletableFuture<List<T>> leader = inFlight.putIfAbsent(key, own);
+        boolean coalesced = leader != null;
+        if (leader == null) {
+            leader = own;
+            own.whenComplete((result, error) -> inFlight.remove(key, own));
+            Supplier<List<T>> crawl = () -> fetch.get().blockOptional().orElse(List.of());
+            try {
+                bulkhead.execute(resource, () -> {
+                    try {
+                        List<T> result = sharedTier == null ? crawl.get() : sharedTier.load(resource, key, type, crawl);
+                        if ("ALL".equals(key)) {
+                            negativeLookup.index(resource, result);
+                        }
+                        // Cached before waiters wake up, so the result outlives waiters that hit the deadline
+                        Cache cache = cacheManager.getCache(resource + "All");
+                        if (cache != null) {
+                            cache.put(key, result);
+                        }
+                        own.complete(result);
+                    } catch (RuntimeException e) {
+                        // Failed crawls leave the in-flight map before waiters see the failure; retries within
+                        // the error TTL fail fast, later ones crawl again
+                        negativeLookup.recordFailure(resource, key, e);
+                        inFlight.remove(key, own);
+                        own.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.remove(key, own);
+                own.completeExceptionally(e);
+                throw e;
+            }
+        }
+        List<T> result = bulkhead.await(resource, leader);
+        return commit(event, resource, key, coalesced, result);
+    }
+
+    private static <T> List<T> commit(DatasetLoadEvent event, String resource, String searchKey,
+                                      boolean coalesced, List<T> result) {
+        if (event.shouldCommit()) {
+            event.resource = resource;
+            event.searchKey = searchKey;
+            event.coalesced = coalesced;
+            event.itemCount = result.size();
+            event.commit();
+        }
+        return result;
     }
 }
@@ -1,68 +1,258 @@
 package com.starwars.backend.service;
 
+import com.starwars.backend.jfr.ResponseWriteEvent;
+import com.starwars.backend.model.BatchQuery;
+import com.starwars.backend.model.DatasetExport;
+import com.starwars.backend.model.ExportFormat;
 import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PageResponse;
 import com.starwars.backend.model.PeopleDto;
 import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.ResponseFormat;
 import com.starwars.backend.sorting.SortEngine;
 import com.starwars.backend.util.PaginationUtil;
+import com.starwars.backend.util.RequestStages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * Service layer facade for Star Wars data operations.
  * Coordinates between cache service and sorting engine while enforcing consistent defaults.
- * Handles request logging and response formatting for both People and Planets endpoints.
+ * Handles response formatting for both People and Planets endpoints; requests themselves are
+ * recorded once each by the access log (AccessLogFilter), so this class only logs at DEBUG.
+ * Dataset loading (cache hit or upstream crawl) and pagination are timed per resource; sorting,
+ * serialization and upstream stages are timed where they happen.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SwService {
+public class SwService implements DisposableBean {
+
+    /** Upper bound on queries per batch so one request cannot monopolize the sort and render work. */
+    static final int MAX_BATCH_QUERIES = 50;
 
     private final SwCacheService cacheService;
     private final SortEngine sortEngine;
+    private final PageResponseCache responseCache;
+    private final DatasetExportWriter exportWriter;
+    private final MeterRegistry meterRegistry;
+
+    /** Batch loads block on upstream crawls, so each unit of work gets its own virtual thread. */
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     // ---------------- PEOPLE ----------------
 
     /**
-     * Returns paginated People data with optional search and sorting.
-     * Logs request parameters for observability and debugging.
+     * Returns the serialized People page for the query, served from the response cache when
+     * the same query was already rendered against the current dataset snapshot.
      * Defaults to name-based ascending sort when no sort field is specified.
+     * Optional comma-separated fields project each item to the requested properties,
+     * and the page is encoded in the negotiated wire format.
      */
-    public PageDto<PeopleDto> getPeople(int page, int size, String search, String sort, String dir) {
-        log.info("Request: getPeople(page={}, size={}, search='{}', sort='{}', dir='{}')",
-                page, size, search, sort, dir);
-
-        List<PeopleDto> all = cacheService.loadAllPeople(search);
-        log.debug("Loaded {} people from cache", all.size());
+    public PageResponse renderPeople(int page, int size, String search, String sort, String dir,
+                                     String fields, ResponseFormat format) {
+        log.debug("Request: renderPeople(page={}, size={}, search='{}', sort='{}', dir='{}', fields='{}', format={})",
+                page, size, search, sort, dir, fields, format);
 
-        PageDto<PeopleDto> result = fetchPage(all, PeopleDto.class, page, size, sort, dir);
-
-        log.info("Response: {} items (total={}, page={}, size={})",
-                result.getItems().size(), result.getTotal(), result.getPage(), result.getSize());
-        return result;
+        String fieldSet = responseCache.fieldSet(PeopleDto.class, fields);
+        List<PeopleDto> all = timedLoad("people", () -> cacheService.loadAllPeople(search));
+        PageQuery query = PageQuery.of("people", page, size, search, sort, dir, fieldSet, format);
+        return responseCache.get(query, all, () -> fetchPage(all, PeopleDto.class, page, size, sort, dir));
     }
 
     // ---------------- PLANETS ----------------
 
     /**
-     * Returns paginated Planets data with optional search and sorting.
+     * Returns the serialized Planets page for the query, served from the response cache when possible.
      * Uses same default sorting policy as People: fallback to name ascending.
      */
-    public PageDto<PlanetDto> getPlanets(int page, int size, String search, String sort, String dir) {
-        log.info("Request: getPlanets(page={}, size={}, search='{}', sort='{}', dir='{}')",
-                page, size, search, sort, dir);
+    public PageResponse renderPlanets(int page, int size, String search, String sort, String dir,
+                                     String fields, ResponseFormat format) {
+        log.debug("Request: renderPlanets(page={}, size={}, search='{}', sort='{}', dir='{}', fields='{}', format={})",
+                page, size, search, sort, dir, fields, format);
+
+        String fieldSet = responseCache.fieldSet(PlanetDto.class, fields);
+        List<PlanetDto> all = timedLoad("planets", () -> cacheService.loadAllPlanets(search));
+        PageQuery query = PageQuery.of("planets", page, size, search, sort, dir, fieldSet, format);
+        return responseCache.get(query, all, () -> fetchPage(all, PlanetDto.class, page, size, sort, dir));
+    }
+
+    // ---------------- BATCH ----------------
+
+    /**
+     * Renders several page queries in one call and returns their JSON pages as a JSON array, in request order.
+     * Every dataset is loaded once and shared by all of its queries, so the whole batch reads one snapshot;
+     * queries over the same dataset and sort order share a single sort. Independent groups run in parallel,
+     * and each page still goes through the response cache, so hot pages are not re-rendered.
+     */
+    public byte[] renderBatch(List<BatchQuery> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_BATCH_QUERIES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch must contain between 1 and " + MAX_BATCH_QUERIES + " queries");
+        }
+
+        List<PageQuery> pageQueries = new ArrayList<>(queries.size());
+        Map<String, CompletableFuture<List<?>>> datasets = new LinkedHashMap<>();
+        Map<String, List<Integer>> sortGroups = new LinkedHashMap<>();
+        for (BatchQuery q : queries) {
+            Class<?> type = typeOf(q.resource());
+            PageQuery query = PageQuery.of(q.resource(), q.pageOrDefault(), q.sizeOrDefault(), q.search(),
+                    q.sort(), q.dir(), responseCache.fieldSet(type, q.fields()), ResponseFormat.JSON);
+            datasets.computeIfAbsent(query.datasetKey(), key ->
+                    CompletableFuture.supplyAsync(() -> loadAll(q.resource(), q.search()), batchExecutor));
+            sortGroups.computeIfAbsent(query.datasetKey() + "|" + query.sort() + "|" + query.ascending(),
+                    key -> new ArrayList<>()).add(pageQueries.size());
+            pageQueries.add(query);
+        }
+        log.debug("Request: renderBatch(queries={}, datasets={}, sorts={})",
+                queries.size(), datasets.size(), sortGroups.size());
+
+        byte[][] pages = new byte[pageQueries.size()][];
+        List<CompletableFuture<Void>> groups = sortGroups.values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> {
+                    PageQuery first = pageQueries.get(indexes.get(0));
+                    List<?> all = join(datasets.get(first.datasetKey()));
+                    SortedView sorted = new SortedView(all, typeOf(first.resource()), first.sort(), first.ascending());
+                    for (int i : indexes) {
+                        PageQuery query = pageQueries.get(i);
+                        pages[i] = responseCache.get(query, all,
+                                () -> timedPaginate(sorted.get(), typeOf(query.resource()), query.page(), query.size()))
+                                .getBody().getIdentity();
+                    }
+                }, batchExecutor))
+                .toList();
+        join(CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < pages.length; i++) {
+            if (i > 0) out.write(',');
+            out.writeBytes(pages[i]);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private List<?> loadAll(String resource, String search) {
+        return timedLoad(resource, () -> "people".equals(resource)
+                ? cacheService.loadAllPeople(search)
+                : cacheService.loadAllPlanets(search));
+    }
+
+    /** Times the dataset stage: a cache hit, or a full upstream crawl on a miss. */
+    private <L extends List<?>> L timedLoad(String resource, Supplier<L> load) {
+        return RequestStages.timed("load", Timer.builder("starwars.dataset.load")
+                .description("Time to obtain a dataset from the cache, including upstream loads on a miss")
+                .tag("resource", resource)
+                .register(meterRegistry), load);
+    }
 
-        List<PlanetDto> all = cacheService.loadAllPlanets(search);
-        log.debug("Loaded {} planets from cache", all.size());
+    private <T> PageDto<T> timedPaginate(List<T> sorted, Class<?> type, int page, int size) {
+        return RequestStages.timed("paginate", Timer.builder("starwars.paginate")
+                .description("Time to cut a page out of a sorted dataset")
+                .tag("type", type.getSimpleName())
+                .register(meterRegistry), () -> PaginationUtil.paginate(sorted, page, size));
+    }
+
+    private static Class<?> typeOf(String resource) {
+        if ("people".equals(resource)) return PeopleDto.class;
+        if ("planets".equals(resource)) return PlanetDto.class;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown resource: " + resource);
+    }
+
+    /** Waits for a batch task, rethrowing its own exception so the usual error mapping applies. */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /** Sorts a dataset on first use only, so a group whose pages are all cached never sorts. */
+    private final class SortedView {
+        private final List<?> items;
+        private final Class<?> type;
+        private final String field;
+        private final boolean ascending;
+        private List<?> sorted;
+
+        SortedView(List<?> items, Class<?> type, String field, boolean ascending) {
+            this.items = items;
+            this.type = type;
+            this.field = field;
+            this.ascending = ascending;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<?> get() {
+            if (sorted == null) {
+                sorted = sortEngine.sort((List) items, (Class) type, field, ascending);
+            }
+            return sorted;
+        }
+    }
 
-        PageDto<PlanetDto> result = fetchPage(all, PlanetDto.class, page, size, sort, dir);
+    // ---------------- EXPORT ----------------
 
-        log.info("Response: {} items (total={}, page={}, size={})",
-                result.getItems().size(), result.getTotal(), result.getPage(), result.getSize());
-        return result;
+    /**
+     * Prepares a full-dataset export: validates the request, loads the (optionally filtered) dataset and
+     * sorts it once. Validation happens here, before any byte is streamed, so errors still map to 400.
+     */
+    public DatasetExport export(String resource, String search, String sort, String dir, String fields,
+                                ExportFormat format) {
+        log.debug("Request: export(resource={}, search='{}', sort='{}', dir='{}', fields='{}', format={})",
+                resource, search, sort, dir, fields, format);
+
+        Class<?> type = typeOf(resource);
+        String fieldSet = responseCache.fieldSet(type, fields);
+        PageQuery query = PageQuery.of(resource, 0, 1, search, sort, dir);
+        List<?> rows = new SortedView(loadAll(resource, search), type, query.sort(), query.ascending()).get();
+        return new DatasetExport(resource, format, rows, type, fieldSet);
+    }
+
+    /**
+     * Streams a prepared export to the client. A client that disconnects mid-stream ends the export
+     * at the next chunk boundary; that is logged and rethrown so the container abandons the response.
+     */
+    public int writeExport(DatasetExport export, OutputStream out) throws IOException {
+        ResponseWriteEvent event = new ResponseWriteEvent();
+        event.begin();
+        try {
+            int rows = exportWriter.write(export.rows(), export.type(), export.fieldSet(), export.format(), out);
+            log.debug("Response: exported {} {} rows as {}", rows, export.resource(), export.format());
+            if (event.shouldCommit()) {
+                event.resource = export.resource();
+                event.format = export.format().extension();
+                event.fields = export.fieldSet().isEmpty() ? "all" : export.fieldSet();
+                event.itemCount = rows;
+                event.commit();
+            }
+            return rows;
+        } catch (IOException e) {
+            log.info("Export of {} cancelled: {}", export.resource(), e.getMessage());
+            throw e;
+        }
     }
 
     // ---------------- SHARED / GENERIC ----------------
@@ -71,8 +261,9 @@ public class SwService {
      * Core sorting and pagination logic shared between People and Planets.
      * Applies default sorting by name when no field is specified.
      * Centralizes default behavior while maintaining flexibility for entity-specific customization.
+     * Package-private so the reactive service applies exactly the same sorting and paging.
      */
-    private <T> PageDto<T> fetchPage(List<T> items,
+    <T> PageDto<T> fetchPage(List<T> items,
                                      Class<T> type,
                                      int page,
                                      int size,
@@ -87,11 +278,17 @@ public class SwService {
 
         List<T> sorted = sortEngine.sort(items, type, sortField, ascending);
 
-        PageDto<T> pageDto = PaginationUtil.paginate(sorted, page, size);
+        PageDto<T> pageDto = timedPaginate(sorted, type, page, size);
 
         log.debug("Paginated {} items -> page={}, size={}, total={}",
                 pageDto.getItems().size(), pageDto.getPage(), pageDto.getSize(), pageDto.getTotal());
 
         return pageDto;
     }
+
+    /** Interrupts batch work still running at shutdown. */
+    @Override
+    public void destroy() {
+        batchExecutor.shutdownNow();
+    }
 }
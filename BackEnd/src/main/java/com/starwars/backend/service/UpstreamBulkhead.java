@@ -0,0 +1,101 @@
+package com.starwars.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dedicated, bounded pool for upstream crawls, isolated from the threads serving requests.
+ *
+ * At most starwars.upstream.max-concurrent crawls run at once and at most starwars.upstream.queue-size
+ * wait for a worker; beyond that a crawl is refused straight away with 503. Request threads never run a
+ * crawl themselves: they wait on its future for at most starwars.upstream.wait-timeout and then answer 504,
+ * while the crawl carries on in the background. A slow SWAPI therefore ties up this pool only, and pages
+ * already cached keep being served.
+ *
+ * Workers are virtual threads, so a crawl blocked on the network does not hold a carrier. Pool saturation
+ * is published through Micrometer's executor metrics (executor.active, executor.queued,
+ * executor.queue.remaining, name "upstream"), refusals and missed deadlines as starwars.upstream.bulkhead.
+ */
+@Slf4j
+@Component
+public class UpstreamBulkhead implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamBulkhead(MeterRegistry meterRegistry,
+                            @Value("${starwars.upstream.max-concurrent:16}") int maxConcurrent,
+                            @Value("${starwars.upstream.queue-size:64}") int queueSize,
+                            @Value("${starwars.upstream.wait-timeout:12s}") Duration waitTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.waitTimeout = waitTimeout;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), Thread.ofVirtual().name("upstream-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "upstream", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Schedules a crawl on the pool.
+     *
+     * @throws ResponseStatusException 503 when every worker is busy and the queue is full
+     */
+    public void execute(String resource, Runnable crawl) {
+        try {
+            executor.execute(crawl);
+        } catch (RejectedExecutionException e) {
+            count(resource, "rejected");
+            log.warn("Upstream pool saturated ({} running, {} queued), refusing {} crawl",
+                    executor.getActiveCount(), executor.getQueue().size(), resource);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many upstream requests in progress. Please retry later.");
+        }
+    }
+
+    /**
+     * Waits for a crawl up to the deadline, unwrapping its failure.
+     *
+     * @throws ResponseStatusException 504 when the crawl does not finish in time; the crawl itself keeps running
+     */
+    public <T> T await(String resource, CompletableFuture<T> crawl) {
+        try {
+            return crawl.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count(resource, "timeout");
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    "Upstream did not answer within " + waitTimeout.toSeconds() + "s. Please retry later.");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the " + resource + " crawl", e);
+        }
+    }
+
+    private void count(String resource, String outcome) {
+        meterRegistry.counter("starwars.upstream.bulkhead", "resource", resource, "outcome", outcome).increment();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
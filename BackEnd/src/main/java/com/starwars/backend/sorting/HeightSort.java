@@ -1,16 +1,15 @@
 package com.starwars.backend.sorting;
 
 import com.starwars.backend.model.HasHeight;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Sorting strategy for height field values.
  * Handles non-numeric values like "unknown" by defaulting to zero.
  * Provides robust parsing to prevent UI crashes from unexpected data formats.
  */
-@Slf4j
 @Component
 public class HeightSort implements SortStrategy<HasHeight> {
 
@@ -27,31 +26,15 @@ public class HeightSort implements SortStrategy<HasHeight> {
     @Override
     public Comparator<HasHeight> comparator() {
         // Safely parse height values, using zero for any non-numeric data
-        return Comparator.comparing(
-                h -> parseOrZero(h.getHeight())
-        );
+        return Comparator.comparingDouble(numericKey());
     }
 
     /**
-     * Parses height string to integer with error handling.
-     * Returns zero for "unknown", null, or invalid numeric values.
-     * Handles comma-separated thousands for consistency with mass parsing.
-     * Designed to be forgiving since SWAPI data may contain non-numeric entries.
+     * Parses the height with the shared numeric rule of the sort key registry.
+     * "unknown", null or invalid values become zero; comma-separated thousands are handled.
      */
-    private static int parseOrZero(String raw) {
-        if (raw == null || raw.isBlank()) return 0;
-        
-        String cleaned = raw.trim();
-        if ("unknown".equalsIgnoreCase(cleaned)) return 0;
-        
-        // Remove commas from thousands separator for consistency
-        cleaned = cleaned.replace(",", "");
-        
-        try {
-            return Integer.parseInt(cleaned);
-        } catch (Exception e) {
-            log.debug("Invalid height value '{}', using 0", raw);
-            return 0;
-        }
+    @Override
+    public ToDoubleFunction<HasHeight> numericKey() {
+        return item -> SortKeyType.NUMBER.key(item.getHeight());
     }
 }
@@ -0,0 +1,63 @@
+package com.starwars.backend.sorting;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.backend.model.HasName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * Locale-aware name order for NameSort, set by starwars.sort.collation (a language tag such as "en" or
+ * "es"; empty keeps the plain case-insensitive order).
+ *
+ * Comparing with a Collator re-analyzes both names on every comparison. Instead, each entity's name is
+ * turned into a collation key once and kept while the entity is alive (identity-keyed, weakly held, so the
+ * keys of a replaced snapshot go with it); sorting then compares the keys' bytes. The collator ignores
+ * case and compares accents as a secondary difference, so "Padmé" sorts next to "Padme" and "luke" ties
+ * with "Luke" as in the plain order.
+ */
+@Slf4j
+@Component
+public class NameCollation {
+
+    private final Collator collator;
+    private final Cache<HasName, byte[]> keys = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public NameCollation(@Value("${starwars.sort.collation:}") String languageTag) {
+        if (languageTag == null || languageTag.isBlank()) {
+            this.collator = null;
+            return;
+        }
+        Collator localized = Collator.getInstance(Locale.forLanguageTag(languageTag.trim()));
+        localized.setStrength(Collator.SECONDARY);
+        localized.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        this.collator = localized;
+        log.info("Sorting names with {} collation keys", Locale.forLanguageTag(languageTag.trim()));
+    }
+
+    /** Plain case-insensitive order, without collation keys. */
+    public static NameCollation off() {
+        return new NameCollation("");
+    }
+
+    public boolean enabled() {
+        return collator != null;
+    }
+
+    /**
+     * Collation key of the entity's name, computed on first use; null for a null name.
+     * Keys compare with {@link java.util.Arrays#compareUnsigned(byte[], byte[])}.
+     */
+    public byte[] keyOf(HasName entity) {
+        if (entity.getName() == null) {
+            return null;
+        }
+        return keys.get(entity, named -> collator.getCollationKey(named.getName()).toByteArray());
+    }
+}
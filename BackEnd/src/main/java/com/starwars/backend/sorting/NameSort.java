@@ -2,18 +2,34 @@ package com.starwars.backend.sorting;
 
 import com.starwars.backend.model.HasName;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.function.Function;
 
 /**
  * SortStrategy for the "name" field.
  * Universal alphabetical sort, case-insensitive and null-safe.
  * Default fallback strategy for most resources.
+ * With a NameCollation enabled, names sort by precomputed locale-aware collation keys instead.
  */
 @Slf4j
 @Component
 public class NameSort implements SortStrategy<HasName> {
 
+    private final NameCollation collation;
+
+    public NameSort() {
+        this(NameCollation.off());
+    }
+
+    @Autowired
+    public NameSort(NameCollation collation) {
+        this.collation = collation;
+    }
+
     @Override
     public String field() {
         return "name";
@@ -26,10 +42,18 @@ public class NameSort implements SortStrategy<HasName> {
 
     @Override
     public Comparator<HasName> comparator() {
+        if (collation.enabled()) {
+            return Comparator.comparing(collation::keyOf, Comparator.nullsFirst(Arrays::compareUnsigned));
+        }
         // Alphabetical sort, case-insensitive with null values first.
         return Comparator.comparing(
                 HasName::getName,
                 Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)
         );
     }
+
+    @Override
+    public Function<HasName, byte[]> binaryKey() {
+        return collation.enabled() ? collation::keyOf : null;
+    }
 }
@@ -4,12 +4,11 @@ import com.starwars.backend.model.HasPopulation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import java.util.Comparator;
-import java.util.Optional;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Sorting strategy for population field values.
- * Handles null values by treating them as zero for consistent ordering.
- * Designed to be forgiving since upstream data may contain "unknown" or missing values.
+ * Keys follow the {@link SortKeyType#NUMBER} rule, so null (upstream "unknown") counts as zero.
  */
 @Slf4j
 @Component
@@ -27,10 +26,11 @@ public class PopulationSort implements SortStrategy<HasPopulation> {
 
     @Override
     public Comparator<HasPopulation> comparator() {
-        // Sorts by population, treating null as zero.
-        // The Optional ensures we never get a NullPointerException on weird data.
-        return Comparator.comparing(
-                item -> Optional.ofNullable(item.getPopulation()).orElse(0L)
-        );
+        return Comparator.comparingDouble(numericKey());
+    }
+
+    @Override
+    public ToDoubleFunction<HasPopulation> numericKey() {
+        return item -> SortKeyType.NUMBER.key(item.getPopulation());
     }
 }
@@ -1,24 +1,47 @@
 package com.starwars.backend.sorting;
 
-import lombok.RequiredArgsConstructor;
+import com.starwars.backend.jfr.SortEvent;
+import com.starwars.backend.util.RequestStages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Central sorting engine for backend data processing.
  * Uses strategy pattern with registered SortStrategy implementations.
- * Finds appropriate strategy based on field name and DTO type compatibility.
+ * Finds appropriate strategy based on field name and DTO type compatibility,
+ * then the generated key of that field in the SortKeyRegistry.
  * Falls back to original order when no matching strategy is found.
+ * Strategies with a numeric or binary key are sorted on an array of precomputed keys.
+ * Each sort is timed per entity type and strategy.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SortEngine {
 
     private final List<SortStrategy<?>> strategies;
+    private final SortKeyRegistry sortKeys;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SortEngine(List<SortStrategy<?>> strategies, SortKeyRegistry sortKeys, MeterRegistry meterRegistry) {
+        this.strategies = strategies;
+        this.sortKeys = sortKeys;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public SortEngine(List<SortStrategy<?>> strategies, MeterRegistry meterRegistry) {
+        this(strategies, new SortKeyRegistry(), meterRegistry);
+    }
 
     /**
      * Sorts a list of objects by the requested field and direction.
@@ -36,7 +59,7 @@ public class SortEngine {
                 .filter(s -> s.field().equalsIgnoreCase(field))
                 .filter(s -> s.supports(type))
                 .findFirst()
-                .orElse(null);
+                .orElseGet(() -> sortKeys.find(type, field));
 
         Comparator<T> comp;
         if (strategy != null) {
@@ -53,6 +76,90 @@ public class SortEngine {
             comp = comp.reversed();
         }
 
-        return data.stream().sorted(comp).toList();
+        Comparator<T> order = comp;
+        ToDoubleFunction<T> key = strategy == null ? null : strategy.numericKey();
+        Function<T, byte[]> binaryKey = strategy == null || key != null ? null : strategy.binaryKey();
+        String strategyName = strategy == null ? "none" : strategy.getClass().getSimpleName();
+        SortEvent event = new SortEvent();
+        event.begin();
+        List<T> sorted = RequestStages.timed("sort", Timer.builder("starwars.sort")
+                .description("Time to sort a dataset")
+                .tags("type", type.getSimpleName(), "strategy", strategyName)
+                .register(meterRegistry), () -> key != null ? sortByKey(data, key, asc)
+                        : binaryKey != null ? sortByBinaryKey(data, binaryKey, asc)
+                        : data.stream().sorted(order).toList());
+        if (event.shouldCommit()) {
+            event.type = type.getSimpleName();
+            event.field = field;
+            event.ascending = asc;
+            event.strategy = strategyName;
+            event.itemCount = data.size();
+            event.commit();
+        }
+        return sorted;
+    }
+
+    /**
+     * Stable sort on primitive keys: every key is extracted once, then an index array is merge-sorted on
+     * the key array, so comparisons touch neither the items nor their getters. Equal keys keep their
+     * input order in both directions, like a stable sort with a reversed comparator.
+     */
+    static <T> List<T> sortByKey(List<T> data, ToDoubleFunction<T> key, boolean asc) {
+        double[] keys = new double[data.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsDouble(data.get(i));
+        }
+        return sortByIndex(data, (a, b) -> Double.compare(keys[a], keys[b]), asc);
+    }
+
+    /** As {@link #sortByKey}, on byte-array keys in unsigned lexicographic order with null keys first. */
+    static <T> List<T> sortByBinaryKey(List<T> data, Function<T, byte[]> key, boolean asc) {
+        byte[][] keys = new byte[data.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.apply(data.get(i));
+        }
+        return sortByIndex(data, (a, b) -> keys[a] == null ? (keys[b] == null ? 0 : -1)
+                : keys[b] == null ? 1 : Arrays.compareUnsigned(keys[a], keys[b]), asc);
+    }
+
+    /** Compares two positions of the input by their precomputed keys. */
+    private interface IndexOrder {
+        int compare(int a, int b);
+    }
+
+    private static <T> List<T> sortByIndex(List<T> data, IndexOrder order, boolean asc) {
+        int n = data.size();
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int from = 0; from < n - width; from += 2 * width) {
+                merge(index, buffer, order, from, from + width, Math.min(from + 2 * width, n), asc);
+            }
+        }
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = data.get(index[i]);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(sorted);
+        return Collections.unmodifiableList(result);
+    }
+
+    private static void merge(int[] index, int[] buffer, IndexOrder order, int from, int mid, int to, boolean asc) {
+        System.arraycopy(index, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int out = from; out < to; out++) {
+            // Take from the left run unless the right item sorts strictly before it, which keeps ties stable
+            int cmp = left < mid && right < to ? order.compare(buffer[right], buffer[left]) : 0;
+            if (left < mid && (right >= to || (asc ? cmp >= 0 : cmp <= 0))) {
+                index[out] = buffer[left++];
+            } else {
+                index[out] = buffer[right++];
+            }
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.starwars.backend.sorting;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sort strategy generated by {@link SortKeyRegistry} for one attribute of one DTO type with a primitive key.
+ *
+ * @param field  attribute name as serialized in the API (e.g. "rotation_period")
+ * @param type   DTO type the attribute belongs to
+ * @param kind   parsing rule of the attribute
+ * @param getter generated accessor of the attribute
+ */
+public record SortKey<T>(String field, Class<T> type, SortKeyType kind, Function<T, Object> getter)
+        implements SortStrategy<T> {
+
+    @Override
+    public boolean supports(Class<?> candidate) {
+        return type.isAssignableFrom(candidate);
+    }
+
+    @Override
+    public Comparator<T> comparator() {
+        return Comparator.comparingDouble(numericKey());
+    }
+
+    @Override
+    public ToDoubleFunction<T> numericKey() {
+        return item -> kind.key(getter.apply(item));
+    }
+}
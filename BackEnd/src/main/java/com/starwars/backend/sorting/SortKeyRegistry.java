@@ -0,0 +1,142 @@
+package com.starwars.backend.sorting;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Map.entry;
+
+/**
+ * Declarative sort keys for every attribute of the DTOs, so any field can be sorted without a hand-written
+ * strategy. Each attribute gets a parsing rule: text attributes that hold numbers are listed in
+ * {@link #RULES}, everything else follows its Java type (numbers, timestamps, lists by size), and the
+ * remaining text attributes are compared as text.
+ *
+ * The accessors are generated once at startup with LambdaMetafactory from the Lombok getters, so reading an
+ * attribute on the sorting hot path is a plain interface call, with no reflection. Explicit SortStrategy
+ * beans take precedence in SortEngine; the registry answers the remaining fields.
+ */
+@Slf4j
+@Component
+public class SortKeyRegistry {
+
+    /** DTO types whose attributes are registered. */
+    static final List<Class<?>> TYPES = List.of(PeopleDto.class, PlanetDto.class);
+
+    /** Rules for text attributes that are not sorted as text, by API field name. */
+    static final Map<String, SortKeyType> RULES = Map.ofEntries(
+            entry("height", SortKeyType.NUMBER),
+            entry("mass", SortKeyType.NUMBER),
+            entry("birth_year", SortKeyType.YEAR),
+            entry("diameter", SortKeyType.NUMBER),
+            entry("rotation_period", SortKeyType.NUMBER),
+            entry("orbital_period", SortKeyType.NUMBER),
+            entry("surface_water", SortKeyType.NUMBER),
+            entry("gravity", SortKeyType.NUMBER));
+
+    private final Map<Class<?>, Map<String, SortStrategy<?>>> keys = new LinkedHashMap<>();
+
+    public SortKeyRegistry() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> type : TYPES) {
+            Map<String, SortStrategy<?>> byField = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                SortStrategy<?> key = Modifier.isStatic(field.getModifiers()) ? null : keyOf(lookup, type, field);
+                if (key != null) {
+                    byField.put(key.field(), key);
+                }
+            }
+            keys.put(type, byField);
+            log.debug("Registered sort keys for {}: {}", type.getSimpleName(), byField.keySet());
+        }
+    }
+
+    /** The generated strategy for a field of the given type (case-insensitive), or null when there is none. */
+    @SuppressWarnings("unchecked")
+    public <T> SortStrategy<T> find(Class<T> type, String field) {
+        Map<String, SortStrategy<?>> byField = keys.get(type);
+        return byField == null || field == null ? null : (SortStrategy<T>) byField.get(field.toLowerCase(Locale.ROOT));
+    }
+
+    /** Sortable fields of a type, in declaration order. */
+    public Set<String> fields(Class<?> type) {
+        return keys.getOrDefault(type, Map.of()).keySet();
+    }
+
+    private static <T> SortStrategy<T> keyOf(MethodHandles.Lookup lookup, Class<T> type, Field field) {
+        Method getter = getter(type, field);
+        if (getter == null) {
+            return null;
+        }
+        SortKeyType kind = kindOf(field);
+        if (kind != null) {
+            return new SortKey<>(apiName(field), type, kind, accessor(lookup, type, getter));
+        }
+        if (field.getType() == String.class) {
+            Function<T, Object> text = accessor(lookup, type, getter);
+            return new TextSortKey<>(apiName(field), type, item -> (String) text.apply(item));
+        }
+        return null;
+    }
+
+    /** Primitive-key rule of an attribute, or null for plain text and unsupported types. */
+    private static SortKeyType kindOf(Field field) {
+        Class<?> javaType = field.getType();
+        if (javaType == String.class) return RULES.get(apiName(field));
+        if (Number.class.isAssignableFrom(javaType)) return SortKeyType.NUMBER;
+        if (TemporalAccessor.class.isAssignableFrom(javaType)) return SortKeyType.TIMESTAMP;
+        if (Collection.class.isAssignableFrom(javaType)) return SortKeyType.COUNT;
+        return null;
+    }
+
+    /** "hairColor" annotated @JsonProperty("hair_color") -> "hair_color". */
+    private static String apiName(Field field) {
+        JsonProperty property = field.getAnnotation(JsonProperty.class);
+        return property != null && !property.value().isEmpty() ? property.value() : field.getName();
+    }
+
+    private static Method getter(Class<?> type, Field field) {
+        String name = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /** Spins a Function implementation that calls the getter directly. */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> accessor(MethodHandles.Lookup lookup, Class<T> type, Method getter) {
+        try {
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(getter.getReturnType(), type));
+            return (Function<T, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot generate accessor for " + type.getSimpleName() + "."
+                    + getter.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.starwars.backend.sorting;
+
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+
+/**
+ * Parsing rules that turn a DTO attribute into a primitive sort key.
+ * Missing or unparseable values get the lowest key of their kind, so they come first in ascending order,
+ * as with the hand-written strategies ("unknown" height or mass, null population or created).
+ * Text attributes have no primitive key and are sorted by {@link TextSortKey} instead.
+ */
+public enum SortKeyType {
+
+    /** Plain or comma-grouped numbers and leading numbers ("1,358", "1 standard"); unknown is 0. */
+    NUMBER,
+    /** Galactic years around the Battle of Yavin ("19BBY" is -19, "4ABY" is 4); unknown first. */
+    YEAR,
+    /** Instants, keyed in epoch microseconds; null first. */
+    TIMESTAMP,
+    /** Number of elements of a list attribute (films, residents, ...); null is 0. */
+    COUNT;
+
+    /** Primitive key of an attribute value. */
+    public double key(Object value) {
+        return switch (this) {
+            case NUMBER -> value instanceof Number number ? number.doubleValue() : leadingNumber(value);
+            case YEAR -> year(value);
+            case TIMESTAMP -> value instanceof TemporalAccessor time
+                    ? time.getLong(ChronoField.INSTANT_SECONDS) * 1_000_000d + time.get(ChronoField.MICRO_OF_SECOND)
+                    : Double.NEGATIVE_INFINITY;
+            case COUNT -> value instanceof Collection<?> collection ? collection.size() : 0;
+        };
+    }
+
+    private static double leadingNumber(Object value) {
+        if (!(value instanceof String raw)) return 0;
+        String cleaned = raw.trim().replace(",", "");
+        int end = 0;
+        while (end < cleaned.length() && (Character.isDigit(cleaned.charAt(end))
+                || cleaned.charAt(end) == '.' || (end == 0 && cleaned.charAt(end) == '-'))) {
+            end++;
+        }
+        try {
+            return Double.parseDouble(cleaned.substring(0, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double year(Object value) {
+        if (!(value instanceof String raw)) return Double.NEGATIVE_INFINITY;
+        String cleaned = raw.trim().toUpperCase();
+        double sign;
+        if (cleaned.endsWith("BBY")) sign = -1;
+        else if (cleaned.endsWith("ABY")) sign = 1;
+        else return Double.NEGATIVE_INFINITY;
+        try {
+            return sign * Double.parseDouble(cleaned.substring(0, cleaned.length() - 3).trim());
+        } catch (NumberFormatException e) {
+            return Double.NEGATIVE_INFINITY;
+        }
+    }
+}
@@ -1,10 +1,27 @@
 package com.starwars.backend.sorting;
 
 import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 public interface SortStrategy<T> {
     String field();
     boolean supports(Class<?> type);
     Comparator<T> comparator();
-}
 
+    /**
+     * Primitive key consistent with {@link #comparator()}, or null when the order is not numeric.
+     * When present, SortEngine extracts every key once and sorts on the keys instead of calling the comparator.
+     */
+    default ToDoubleFunction<T> numericKey() {
+        return null;
+    }
+
+    /**
+     * Byte-array key consistent with {@link #comparator()} under unsigned lexicographic order (null first),
+     * or null when there is none. Used like {@link #numericKey()}.
+     */
+    default Function<T, byte[]> binaryKey() {
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.starwars.backend.sorting;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Sort strategy generated by {@link SortKeyRegistry} for a text attribute of one DTO type:
+ * case-insensitive, null first, compared as strings.
+ *
+ * @param field  attribute name as serialized in the API (e.g. "hair_color")
+ * @param type   DTO type the attribute belongs to
+ * @param getter generated accessor of the attribute
+ */
+public record TextSortKey<T>(String field, Class<T> type, Function<T, String> getter) implements SortStrategy<T> {
+
+    @Override
+    public boolean supports(Class<?> candidate) {
+        return type.isAssignableFrom(candidate);
+    }
+
+    @Override
+    public Comparator<T> comparator() {
+        return Comparator.comparing(getter, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+    }
+}
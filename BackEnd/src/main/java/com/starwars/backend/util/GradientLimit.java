@@ -0,0 +1,126 @@
+package com.starwars.backend.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit driven by observed latency (gradient algorithm).
+ *
+ * Two exponential moving averages of request latency are kept: a long one that tracks the latency the
+ * service delivers when healthy and a short one that tracks the latency right now. Their ratio is the
+ * gradient: when latency grows (requests start queueing somewhere) the gradient drops below 1 and the
+ * limit shrinks proportionally; while latency stays within {@code tolerance} times the long average the
+ * limit grows by a queue allowance of sqrt(limit) per sample. Updates are smoothed and clamped to
+ * [minLimit, maxLimit].
+ *
+ * The limit only grows while at least half of it is in use, so an idle service does not inflate it.
+ * When the short average falls well below the long one (after a slow spell), the long average decays
+ * towards it, so the baseline recovers instead of staying anchored to the slow period.
+ *
+ * Samples that arrive while another thread is updating are dropped rather than waited for; the limit
+ * is a statistical estimate and losing a sample under contention is harmless.
+ */
+public final class GradientLimit {
+
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock update = new ReentrantLock();
+
+    private volatile double limit;
+    private double longRtt;
+    private double shortRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit, got " + minLimit + ".." + maxLimit);
+        }
+        if (tolerance < 1.0 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Expected tolerance >= 1 and smoothing in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a slot if fewer than {@code ceiling} requests are in flight.
+     * Callers pass {@link #limit()} for normal admission, or a higher ceiling for priority traffic.
+     */
+    public boolean tryAcquire(int ceiling) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= ceiling) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Frees a slot without contributing a latency sample. */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** Frees a slot and feeds the request's latency into the limit. */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0 && update.tryLock()) {
+            try {
+                onSample(rttNanos, inFlightBefore);
+            } finally {
+                update.unlock();
+            }
+        }
+    }
+
+    private void onSample(long rttNanos, int inFlightBefore) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            shortRtt = rttNanos;
+            return;
+        }
+        longRtt = ema(longRtt, rttNanos, LONG_WINDOW);
+        shortRtt = ema(shortRtt, rttNanos, SHORT_WINDOW);
+
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        if (inFlightBefore < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+
+    private static double ema(double average, long sample, int window) {
+        double factor = 2.0 / (window + 1);
+        return average * (1 - factor) + sample * factor;
+    }
+
+    /** Current limit, rounded down; never below minLimit. */
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
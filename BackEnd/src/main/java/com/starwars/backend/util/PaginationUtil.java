@@ -1,5 +1,6 @@
 package com.starwars.backend.util;
 
+import com.starwars.backend.jfr.PaginateEvent;
 import com.starwars.backend.model.PageDto;
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +24,20 @@ public final class PaginationUtil {
      * @return      a PageDto containing only the requested slice, with paging metadata
      */
     public static <T> PageDto<T> paginate(List<T> items, int page, int size) {
+        PaginateEvent event = new PaginateEvent();
+        event.begin();
+        PageDto<T> result = slice(items, page, size);
+        if (event.shouldCommit()) {
+            event.page = page;
+            event.size = size;
+            event.total = items.size();
+            event.itemCount = result.getItems().size();
+            event.commit();
+        }
+        return result;
+    }
+
+    private static <T> PageDto<T> slice(List<T> items, int page, int size) {
         int total = items.size();
 
         // Defensive: don't allow negative pages or sizes.
@@ -0,0 +1,61 @@
+package com.starwars.backend.util;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-request breakdown of where the time went (load, sort, paginate, serialize).
+ * The access log opens one for each request on the serving thread; the timed stages add to it,
+ * and work running on other threads (batch groups, streamed exports) simply is not attributed.
+ * A stage that runs several times in one request accumulates.
+ */
+public final class RequestStages {
+
+    private static final ThreadLocal<RequestStages> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> nanos = new LinkedHashMap<>(8);
+
+    private RequestStages() {
+    }
+
+    /** Starts collecting stages on the current thread. */
+    public static RequestStages open() {
+        RequestStages stages = new RequestStages();
+        CURRENT.set(stages);
+        return stages;
+    }
+
+    /** Stops collecting on the current thread; the returned instance keeps what was recorded. */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /** Adds time to a stage of the current request; a no-op outside of one. */
+    public static void add(String stage, long elapsedNanos) {
+        RequestStages stages = CURRENT.get();
+        if (stages != null) {
+            stages.nanos.merge(stage, elapsedNanos, Long::sum);
+        }
+    }
+
+    /** Runs the work, recording its duration on the timer and as a stage of the current request. */
+    public static <T> T timed(String stage, Timer timer, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            add(stage, elapsed);
+        }
+    }
+
+    /** Recorded stages in first-seen order, in nanoseconds. */
+    public Map<String, Long> nanos() {
+        return nanos;
+    }
+}
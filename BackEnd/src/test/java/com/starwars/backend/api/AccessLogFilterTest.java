@@ -0,0 +1,102 @@
+package com.starwars.backend.api;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.starwars.backend.util.RequestStages;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccessLogFilter: one structured line per request with the stage breakdown,
+ * sampling, and the always-log rules for slow and failed requests.
+ */
+class AccessLogFilterTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void writesOneRecordWithStageBreakdown() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1.0, Duration.ofSeconds(10));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/people");
+        request.setQueryString("page=0&search=\"sky\"");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestStages.add("load", 2_000_000);
+            RequestStages.add("sort", 500_000);
+            RequestStages.add("sort", 500_000);
+        });
+
+        List<String> lines = messages();
+        assertEquals(1, lines.size(), "One line per request");
+        String line = lines.get(0);
+        assertTrue(line.startsWith("{\"ts\":\""), line);
+        assertTrue(line.contains("\"method\":\"GET\",\"path\":\"/api/people\""), line);
+        assertTrue(line.contains("\"query\":\"page=0&search=\\\"sky\\\"\""), "Query should be JSON-escaped: " + line);
+        assertTrue(line.contains("\"status\":200"), line);
+        assertTrue(line.contains("\"stages\":{\"load\":2.0,\"sort\":1.0}"), "Stages accumulate in order: " + line);
+        assertTrue(line.endsWith("\"slow\":false}"), line);
+    }
+
+    @Test
+    void unsampledFastRequestsAreSkipped() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ofSeconds(10));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/planets"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertTrue(messages().isEmpty());
+    }
+
+    @Test
+    void slowAndFailedRequestsAreAlwaysWritten() throws Exception {
+        AccessLogFilter slowFilter = new AccessLogFilter(0.0, Duration.ZERO);
+        slowFilter.doFilter(new MockHttpServletRequest("GET", "/api/people"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ofSeconds(10));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/people"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(502));
+
+        List<String> lines = messages();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"slow\":true"), lines.get(0));
+        assertTrue(lines.get(1).contains("\"status\":502"), lines.get(1));
+    }
+
+    @Test
+    void nonApiRequestsAndOutsideStagesAreIgnored() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1.0, Duration.ofSeconds(10));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/prometheus"), new MockHttpServletResponse(),
+                (req, res) -> { });
+        RequestStages.add("load", 1_000);
+
+        assertTrue(messages().isEmpty());
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
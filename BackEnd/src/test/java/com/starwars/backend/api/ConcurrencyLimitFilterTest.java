@@ -0,0 +1,138 @@
+package com.starwars.backend.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.service.PageResponseCache;
+import com.starwars.backend.util.GradientLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConcurrencyLimitFilter and the gradient limit behind it: shedding over the limit,
+ * priority for already-serialized pages, batches kept out of the latency samples, metrics, and the limit
+ * reacting to latency.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PageResponseCache responseCache = mock(PageResponseCache.class);
+    private final ObjectMapper objectMapper = JacksonConfig.configure(new ObjectMapper());
+
+    @Test
+    void requestOverTheLimitIsShedWithRetryAfter() throws Exception {
+        GradientLimit limit = new GradientLimit(1, 1, 4, 2.0, 0.2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, responseCache, objectMapper,
+                meterRegistry, Duration.ofMillis(1500));
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        // The second request arrives while the first still holds the only slot
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/people"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    MockHttpServletResponse second = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/planets"), second, (r, s) ->
+                            fail("Over-limit request must not reach the controller"));
+                    nested.set(second);
+                });
+
+        MockHttpServletResponse rejected = nested.get();
+        assertEquals(503, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"), "Retry-After is rounded up to whole seconds");
+        assertTrue(rejected.getContentAsString().contains("\"path\":\"/api/planets\""), rejected.getContentAsString());
+        assertEquals(1, meterRegistry.get("starwars.concurrency.rejections").counter().count());
+        assertEquals(0, meterRegistry.get("starwars.concurrency.inflight").gauge().value(),
+                "Slots are released after each request");
+    }
+
+    @Test
+    void cachedPagesAreAdmittedAboveTheLimit() throws Exception {
+        GradientLimit limit = new GradientLimit(1, 1, 4, 2.0, 0.2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, responseCache, objectMapper,
+                meterRegistry, Duration.ofSeconds(1));
+        when(responseCache.fieldSet(any(), eq(null))).thenReturn("");
+        when(responseCache.isCached(PageQuery.of("people", 2, 15, null, null, null))).thenReturn(true);
+        MockHttpServletRequest cached = new MockHttpServletRequest("GET", "/api/people");
+        cached.setParameter("page", "2");
+        AtomicReference<Boolean> served = new AtomicReference<>(false);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/people"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(cached, new MockHttpServletResponse(), (r, s) -> served.set(true)));
+
+        assertTrue(served.get(), "A page already serialized for the current snapshot gets priority");
+        assertEquals(1, meterRegistry.get("starwars.concurrency.priority").counter().count());
+        assertEquals(0, meterRegistry.get("starwars.concurrency.rejections").counter().count());
+    }
+
+    @Test
+    void batchesHoldASlotWithoutFeedingLatencySamples() throws Exception {
+        GradientLimit limit = spy(new GradientLimit(1, 1, 4, 2.0, 0.2));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, responseCache, objectMapper,
+                meterRegistry, Duration.ofSeconds(1));
+        AtomicReference<Integer> inFlight = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/batch"), new MockHttpServletResponse(),
+                (req, res) -> inFlight.set(limit.inFlight()));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/people"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertEquals(1, inFlight.get(), "A batch counts against the limit while it runs");
+        verify(limit, times(1)).release();
+        verify(limit, times(1)).release(anyLong());
+    }
+
+    @Test
+    void streamsAreNotLimited() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new GradientLimit(1, 1, 1, 2.0, 0.2),
+                responseCache, objectMapper, meterRegistry, Duration.ofSeconds(1));
+
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/people/export")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/changes")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/batch")));
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        GradientLimit limit = new GradientLimit(10, 2, 100, 2.0, 0.2);
+
+        // Saturated at a steady 1 ms: the limit probes upwards
+        for (int i = 0; i < 50; i++) {
+            sampleAtFullUtilization(limit, 1_000_000);
+        }
+        int grown = limit.limit();
+        assertTrue(grown > 10, "Limit should grow under steady latency, was " + grown);
+
+        // Latency jumps tenfold: the limit backs off
+        for (int i = 0; i < 50; i++) {
+            sampleAtFullUtilization(limit, 10_000_000);
+        }
+        assertTrue(limit.limit() < grown / 2, "Limit should shrink when latency rises, was " + limit.limit());
+        assertTrue(limit.limit() >= 2, "Limit never drops below minLimit");
+    }
+
+    /** Fills every slot, completes one request with the given latency, then frees the rest. */
+    private static void sampleAtFullUtilization(GradientLimit limit, long rttNanos) {
+        int taken = 0;
+        while (limit.tryAcquire(limit.limit())) {
+            taken++;
+        }
+        limit.release(rttNanos);
+        for (int i = 1; i < taken; i++) {
+            limit.release();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.starwars.backend.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.net.ConnectException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReactiveExceptionHandler, ensuring failed SWAPI calls produce the same 502 ErrorResponse
+ * as on the servlet stack, and anything else the generic 500.
+ */
+class ReactiveExceptionHandlerTest {
+
+    private final ReactiveExceptionHandler handler = new ReactiveExceptionHandler();
+    private final MockServerHttpRequest request = MockServerHttpRequest.get("/api/people").build();
+
+    @Test
+    void unreachableUpstreamIsBadGateway() {
+        WebClientRequestException refused = new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.GET, URI.create("https://swapi.info/api/people/"), new HttpHeaders());
+
+        ResponseEntity<ErrorResponse> response = handler.handleGeneric(refused, request);
+
+        assertEquals(502, response.getStatusCode().value());
+        assertEquals("Upstream service unavailable. Please try again later.", response.getBody().getMessage());
+        assertEquals("/api/people", response.getBody().getPath());
+    }
+
+    @Test
+    void otherFailuresStayInternalServerError() {
+        ResponseEntity<ErrorResponse> response = handler.handleGeneric(new IllegalStateException("bug"), request);
+
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals("Internal server error. Please try again later.", response.getBody().getMessage());
+    }
+}
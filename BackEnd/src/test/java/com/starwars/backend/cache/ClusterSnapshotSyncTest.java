@@ -0,0 +1,113 @@
+package com.starwars.backend.cache;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.service.SnapshotChangedEvent;
+import com.starwars.backend.service.SnapshotVersionService;
+import com.starwars.backend.service.SwCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClusterSnapshotSync with two nodes on an in-process transport: with the shared tier, a node that
+ * announces a new version makes the other reload, and announcements for versions a node already has (or datasets
+ * it never served) do not trigger reloads; without it, the other node only marks its copy stale.
+ */
+class ClusterSnapshotSyncTest {
+
+    private final String channel = UUID.randomUUID().toString();
+    private final List<ClusterTransport> transports = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transports.forEach(ClusterTransport::close);
+    }
+
+    @Test
+    void announcedVersionIsAdoptedByOtherNode() {
+        Node a = new Node(true);
+        Node b = new Node(true);
+        b.cacheManager.getCache("peopleAll").put("ALL", List.of());
+        when(b.versions.currentVersion("people", "ALL")).thenReturn("v1");
+        List<PeopleDto> adopted = List.of(new PeopleDto());
+        when(b.cacheService.loadAllPeople(null)).thenReturn(adopted);
+        when(b.versions.versionOf("people", "ALL", adopted)).thenReturn("v2");
+
+        a.sync.onSnapshotChanged(changed("people", "ALL", "v1", "v2"));
+
+        verify(b.versions, timeout(2_000)).versionOf("people", "ALL", adopted);
+        assertNull(b.cacheManager.getCache("peopleAll").get("ALL"), "Stale local copy should be evicted");
+        assertEquals(1, b.meterRegistry.get("starwars.cluster.adoptions")
+                .tags("resource", "people", "outcome", "matched").counter().count());
+        verifyNoInteractions(a.cacheService);
+    }
+
+    @Test
+    void withoutSharedTierTheLocalCopyIsOnlyMarkedStale() {
+        Node a = new Node(false);
+        Node b = new Node(false);
+        List<PeopleDto> local = List.of(new PeopleDto());
+        b.cacheManager.getCache("peopleAll").put("ALL", local);
+        when(b.versions.currentVersion("people", "ALL")).thenReturn("v1");
+
+        a.sync.onSnapshotChanged(changed("people", "ALL", "v1", "v2"));
+
+        verify(b.versions, timeout(2_000)).currentVersion("people", "ALL");
+        verify(b.cacheService, after(300).never()).loadAllPeople(any());
+        assertSame(local, b.cacheManager.getCache("peopleAll").get("ALL").get(), "Local copy should keep serving");
+        assertEquals(1, b.meterRegistry.get("starwars.cluster.stale").gauge().value());
+
+        b.sync.onSnapshotChanged(changed("people", "ALL", "v1", "v2"));
+        assertEquals(0, b.meterRegistry.get("starwars.cluster.stale").gauge().value(),
+                "A local reload clears the mark");
+    }
+
+    @Test
+    void sameVersionAndUnservedDatasetsAreNotReloaded() {
+        Node a = new Node(true);
+        Node b = new Node(true);
+        b.cacheManager.getCache("peopleAll").put("ALL", List.of());
+        b.cacheManager.getCache("planetsAll").put("ALL", List.of());
+        when(b.versions.currentVersion("people", "ALL")).thenReturn("v2");
+        when(b.versions.currentVersion("planets", "ALL")).thenReturn(null);
+
+        a.sync.onSnapshotChanged(changed("people", "ALL", "v1", "v2"));
+        a.sync.onSnapshotChanged(changed("planets", "ALL", "p1", "p2"));
+
+        verify(b.versions, timeout(2_000)).currentVersion("planets", "ALL");
+        verify(b.cacheService, after(300).never()).loadAllPeople(any());
+        verify(b.cacheService, never()).loadAllPlanets(any());
+        verify(b.versions, never()).versionOf(eq("people"), any(), anyList());
+        assertNotNull(b.cacheManager.getCache("peopleAll").get("ALL"), "Current copy should be kept");
+        assertNull(b.cacheManager.getCache("planetsAll").get("ALL"));
+    }
+
+    private static SnapshotChangedEvent changed(String resource, String searchKey, String from, String to) {
+        return new SnapshotChangedEvent(resource, searchKey, from, to, List.of(), List.of(), List.of());
+    }
+
+    private final class Node {
+        final SwCacheService cacheService = mock(SwCacheService.class);
+        final SnapshotVersionService versions = mock(SnapshotVersionService.class);
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager("peopleAll", "planetsAll");
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final ClusterSnapshotSync sync;
+
+        Node(boolean sharedTier) {
+            InProcessTransport transport = new InProcessTransport(channel);
+            transports.add(transport);
+            sync = new ClusterSnapshotSync(transport, cacheService, versions, cacheManager, meterRegistry, sharedTier);
+        }
+    }
+}
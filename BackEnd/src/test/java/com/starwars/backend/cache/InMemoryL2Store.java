@@ -0,0 +1,56 @@
+package com.starwars.backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process L2Store, standing in for Redis in tests.
+ * Several SharedSnapshotTier instances over one InMemoryL2Store behave like replicas sharing a Redis.
+ */
+public class InMemoryL2Store implements L2Store {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, Entry.of(value, ttl));
+    }
+
+    @Override
+    public boolean tryLock(String key, String owner, Duration ttl) {
+        Entry lease = Entry.of(owner.getBytes(StandardCharsets.UTF_8), ttl);
+        return entries.compute(key, (k, held) -> held == null || held.expired() ? lease : held) == lease;
+    }
+
+    @Override
+    public void unlock(String key, String owner) {
+        byte[] expected = owner.getBytes(StandardCharsets.UTF_8);
+        entries.computeIfPresent(key, (k, held) -> Arrays.equals(held.value(), expected) ? null : held);
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+        static Entry of(byte[] value, Duration ttl) {
+            return new Entry(value, System.nanoTime() + ttl.toNanos());
+        }
+
+        boolean expired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
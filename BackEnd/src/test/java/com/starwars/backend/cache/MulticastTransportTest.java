@@ -0,0 +1,72 @@
+package com.starwars.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.Inet4Address;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * Round-trip of MulticastTransport with TTL 0 (the datagrams never leave the host);
+ * skipped where the host has no multicast support.
+ */
+class MulticastTransportTest {
+
+    @Test
+    void messagesReachOtherMembersOfTheGroup() throws Exception {
+        NetworkInterface nic = multicastInterface();
+        assumeTrue(nic != null, "No multicast-capable network interface");
+        int port = 45_000 + (int) (ProcessHandle.current().pid() % 1_000);
+
+        MulticastTransport sender;
+        MulticastTransport receiver;
+        try {
+            sender = new MulticastTransport("239.255.27.1", port, nic, 0);
+            receiver = new MulticastTransport("239.255.27.1", port, nic, 0);
+        } catch (UncheckedIOException e) {
+            abort("Cannot join multicast group: " + e.getCause());
+            return;
+        }
+        try (sender; receiver) {
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            receiver.subscribe(message -> received.add(new String(message, StandardCharsets.UTF_8)));
+
+            sender.publish("{\"version\":\"v2\"}".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("{\"version\":\"v2\"}", received.poll(2, TimeUnit.SECONDS));
+        }
+    }
+
+    /** Loopback usually lacks the multicast flag on Linux, so prefer any up interface that has it. */
+    private static NetworkInterface multicastInterface() throws SocketException {
+        return NetworkInterface.networkInterfaces()
+                .filter(MulticastTransportTest::usable)
+                .min(Comparator.comparing(MulticastTransportTest::isLoopback))
+                .orElse(null);
+    }
+
+    private static boolean usable(NetworkInterface nic) {
+        try {
+            return nic.isUp() && nic.supportsMulticast() && nic.inetAddresses().anyMatch(a -> a instanceof Inet4Address);
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
+    private static boolean isLoopback(NetworkInterface nic) {
+        try {
+            return nic.isLoopback();
+        } catch (SocketException e) {
+            return true;
+        }
+    }
+}
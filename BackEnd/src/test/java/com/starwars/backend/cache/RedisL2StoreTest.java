@@ -0,0 +1,57 @@
+package com.starwars.backend.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests RedisL2Store against a local Redis-protocol stand-in: values, TTLs and the lease lock.
+ */
+class RedisL2StoreTest {
+
+    private RespStandIn server;
+    private RedisL2Store store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new RespStandIn();
+        store = new RedisL2Store(server.uri(), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        server.close();
+    }
+
+    @Test
+    void storesBinaryValuesWithTtl() throws InterruptedException {
+        byte[] value = {0, 1, 2, (byte) 0xff, '\r', '\n'};
+        store.put("snapshot", value, Duration.ofMillis(200));
+
+        assertArrayEquals(value, store.get("snapshot"));
+        assertNull(store.get("missing"));
+
+        Thread.sleep(300);
+        assertNull(store.get("snapshot"), "Value should expire after its TTL");
+    }
+
+    @Test
+    void lockIsExclusiveAndOnlyReleasedByItsOwner() {
+        assertTrue(store.tryLock("lock", "replica-a", Duration.ofSeconds(30)));
+        assertFalse(store.tryLock("lock", "replica-b", Duration.ofSeconds(30)));
+
+        store.unlock("lock", "replica-b");
+        assertArrayEquals("replica-a".getBytes(StandardCharsets.UTF_8), store.get("lock"),
+                "Another owner must not release the lock");
+
+        store.unlock("lock", "replica-a");
+        assertTrue(store.tryLock("lock", "replica-b", Duration.ofSeconds(30)));
+    }
+}
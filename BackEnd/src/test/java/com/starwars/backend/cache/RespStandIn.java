@@ -0,0 +1,153 @@
+package com.starwars.backend.cache;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tiny Redis-protocol (RESP2) server for tests, backed by an InMemoryL2Store.
+ * Understands exactly what RedisL2Store sends: PING, GET, SET with PX and NX, and the compare-and-delete
+ * EVAL; anything else (such as the client's HELLO handshake) gets an error reply, as from an old server.
+ */
+final class RespStandIn implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final InMemoryL2Store store = new InMemoryL2Store();
+
+    RespStandIn() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(this::accept);
+    }
+
+    String uri() {
+        return "redis://127.0.0.1:" + server.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                out.write(execute(command));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private byte[] execute(List<byte[]> command) {
+        String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        return switch (name) {
+            case "PING" -> simple("PONG");
+            case "GET" -> bulk(store.get(text(command.get(1))));
+            case "SET" -> set(command);
+            case "EVAL" -> {
+                String key = text(command.get(3));
+                boolean held = Arrays.equals(store.get(key), command.get(4));
+                store.unlock(key, text(command.get(4)));
+                yield integer(held ? 1 : 0);
+            }
+            default -> ("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    private byte[] set(List<byte[]> command) {
+        String key = text(command.get(1));
+        byte[] value = command.get(2);
+        Duration ttl = Duration.ofDays(1);
+        boolean nx = false;
+        for (int i = 3; i < command.size(); i++) {
+            String option = text(command.get(i)).toUpperCase(Locale.ROOT);
+            if ("PX".equals(option)) {
+                ttl = Duration.ofMillis(Long.parseLong(text(command.get(++i))));
+            } else if ("NX".equals(option)) {
+                nx = true;
+            }
+        }
+        if (nx) {
+            return store.tryLock(key, text(value), ttl) ? simple("OK") : bulk(null);
+        }
+        store.put(key, value, ttl);
+        return simple("OK");
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            parts.add(in.readNBytes(length));
+            in.readNBytes(2);
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] simple(String text) {
+        return ("+" + text + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] integer(long value) {
+        return (":" + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bulk(byte[] value) {
+        if (value == null) {
+            return "$-1\r\n".getBytes(StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 16);
+        out.writeBytes(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(value);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,154 @@
+package com.starwars.backend.cache;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SharedSnapshotTier over the in-memory store: several tiers on one store act as replicas
+ * sharing a Redis. Covers warm loads from L2, one crawl across concurrent cold replicas, and degradation
+ * to local crawls when the store fails.
+ */
+class SharedSnapshotTierTest {
+
+    private final InMemoryL2Store store = new InMemoryL2Store();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void replicaWithColdCacheLoadsPublishedSnapshot() {
+        AtomicInteger crawls = new AtomicInteger();
+        List<PeopleDto> people = List.of(person("Luke", "77", "male"), person("Jabba", "1,358", "hermaphrodite"));
+        List<PlanetDto> planets = List.of(planet("Tatooine", "200000"), planet("Hoth", "unknown"));
+
+        replica().load("people", "ALL", PeopleDto.class, () -> counted(crawls, people));
+        replica().load("planets", "ALL", PlanetDto.class, () -> counted(crawls, planets));
+        List<PeopleDto> sharedPeople = replica().load("people", "ALL", PeopleDto.class, () -> counted(crawls, List.of()));
+        List<PlanetDto> sharedPlanets = replica().load("planets", "ALL", PlanetDto.class, () -> counted(crawls, List.of()));
+
+        assertEquals(2, crawls.get(), "Only the first replica should crawl each dataset");
+        assertEquals(people, sharedPeople, "Snapshot should round-trip, including dates and normalized values");
+        assertEquals(planets, sharedPlanets);
+        assertEquals(1, meterRegistry.get("starwars.l2.lookups").tags("resource", "people", "result", "hit").counter().count());
+    }
+
+    @Test
+    void concurrentColdReplicasCrawlOnce() throws Exception {
+        AtomicInteger crawls = new AtomicInteger();
+        List<PeopleDto> people = List.of(person("Leia", "49", "female"));
+
+        List<Future<List<PeopleDto>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                SharedSnapshotTier replica = replica();
+                results.add(executor.submit(() -> replica.load("people", "leia", PeopleDto.class, () -> {
+                    sleep(300);
+                    return counted(crawls, people);
+                })));
+            }
+            for (Future<List<PeopleDto>> result : results) {
+                assertEquals(people, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, crawls.get(), "Replicas should wait for the lock holder instead of crawling");
+    }
+
+    @Test
+    void storeFailureFallsBackToLocalCrawl() {
+        SharedSnapshotTier tier = new SharedSnapshotTier(new FailingStore(), meterRegistry,
+                Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(1));
+        List<PeopleDto> people = List.of(person("Han", "80", "male"));
+
+        assertEquals(people, tier.load("people", "ALL", PeopleDto.class, () -> people));
+        assertEquals(1, meterRegistry.get("starwars.l2.lookups").tags("resource", "people", "result", "error").counter().count());
+    }
+
+    @Test
+    void crawlFailurePropagatesAndReleasesTheLock() {
+        AtomicInteger crawls = new AtomicInteger();
+        SharedSnapshotTier tier = replica();
+
+        assertThrows(IllegalStateException.class, () -> tier.load("people", "ALL", PeopleDto.class, () -> {
+            crawls.incrementAndGet();
+            throw new IllegalStateException("Upstream down");
+        }));
+        assertEquals(1, crawls.get(), "A failed crawl must not be retried as a fallback");
+
+        List<PeopleDto> people = List.of(person("Luke", "77", "male"));
+        assertEquals(people, replica().load("people", "ALL", PeopleDto.class, () -> counted(crawls, people)),
+                "The next replica should get the lock immediately");
+    }
+
+    private SharedSnapshotTier replica() {
+        return new SharedSnapshotTier(store, meterRegistry, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                Duration.ofSeconds(5));
+    }
+
+    private static <T> List<T> counted(AtomicInteger crawls, List<T> result) {
+        crawls.incrementAndGet();
+        return result;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PeopleDto person(String name, String mass, String gender) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        p.setMass(mass);
+        p.setGender(gender);
+        p.setFilms(List.of("https://swapi.dev/api/films/1/"));
+        p.setCreated(OffsetDateTime.parse("2014-12-09T13:50:51.644Z"));
+        p.setUrl("https://swapi.dev/api/people/" + name + "/");
+        return p;
+    }
+
+    private static PlanetDto planet(String name, String population) {
+        PlanetDto p = new PlanetDto();
+        p.setName(name);
+        p.setPopulation(population);
+        p.setCreated(OffsetDateTime.parse("2014-12-09T13:50:49.641Z"));
+        p.setUrl("https://swapi.dev/api/planets/" + name + "/");
+        return p;
+    }
+
+    /** A store whose server is gone. */
+    private static final class FailingStore implements L2Store {
+        @Override
+        public byte[] get(String key) {
+            throw new IllegalStateException("Connection refused");
+        }
+
+        @Override
+        public void put(String key, byte[] value, Duration ttl) {
+            throw new IllegalStateException("Connection refused");
+        }
+
+        @Override
+        public boolean tryLock(String key, String owner, Duration ttl) {
+            throw new IllegalStateException("Connection refused");
+        }
+
+        @Override
+        public void unlock(String key, String owner) {
+            throw new IllegalStateException("Connection refused");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.starwars.backend.client;
 
 import com.starwars.backend.model.PeopleDto;
 import com.starwars.backend.model.PlanetDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -22,6 +24,7 @@ class SwapiClientTest {
 
     private MockWebServer server;
     private SwapiClient client;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -29,11 +32,13 @@ class SwapiClientTest {
         server.start();
 
         // I set the baseUrl to end with /api so relative paths like /people/ resolve properly.
+        meterRegistry = new SimpleMeterRegistry();
         WebClient webClient = WebClient.builder()
                 .baseUrl(server.url("/api").toString())
+                .filter(new UpstreamMetricsFilter(meterRegistry))
                 .build();
 
-        client = new SwapiClient(webClient);
+        client = new SwapiClient(webClient, meterRegistry);
     }
 
     @AfterEach
@@ -143,6 +148,40 @@ class SwapiClientTest {
         assertEquals("/api/planets/", r2.getPath());
     }
 
+    @Test
+    void crawlRecordsPagesBytesAndFallbacks() {
+        String page1 = """
+            {"count":2,"next":"/people/?page=2","previous":null,"results":[{"name":"A"}]}
+            """;
+        String page2 = """
+            {"count":2,"next":null,"previous":"/people/?page=1","results":[{"name":"B"}]}
+            """;
+        String flatArray = """
+            [{"name":"Tatooine"}]
+            """;
+        server.enqueue(json(page1));
+        server.enqueue(json(page2));
+        server.enqueue(json(flatArray));
+        server.enqueue(json(flatArray));
+
+        client.fetchAllPeople(null).block(BLOCK_TIMEOUT);
+        client.fetchAllPlanets(null).block(BLOCK_TIMEOUT);
+
+        // Pages and bytes per resource
+        assertEquals(2, meterRegistry.get("starwars.upstream.pages").tag("resource", "people").counter().count());
+        DistributionSummary peopleBytes = meterRegistry.get("starwars.upstream.response.size")
+                .tag("resource", "people").summary();
+        assertEquals(2, peopleBytes.count());
+        assertEquals(page1.length() + page2.length(), peopleBytes.totalAmount());
+
+        // One crawl per resource, and the flat-array fallback is counted
+        assertEquals(1, meterRegistry.get("starwars.upstream.fetch")
+                .tags("resource", "people", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("starwars.upstream.fallbacks").tag("resource", "planets").counter().count());
+        assertEquals(2, meterRegistry.get("starwars.upstream.requests")
+                .tags("resource", "planets", "status", "200").timer().count());
+    }
+
     // ---- helpers ----
 
     private static MockResponse json(String body) {
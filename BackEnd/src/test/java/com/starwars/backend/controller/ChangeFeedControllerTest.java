@@ -0,0 +1,75 @@
+package com.starwars.backend.controller;
+
+import com.starwars.backend.service.ChangeFeedService;
+import com.starwars.backend.service.SnapshotChangedEvent;
+import com.starwars.backend.service.SnapshotVersionService;
+import com.starwars.backend.service.SwCacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller slice tests for ChangeFeedController, verifying that subscribers receive snapshot changes
+ * for the resource they asked for, with the new version as event id.
+ */
+@WebMvcTest(ChangeFeedController.class)
+@Import(ChangeFeedService.class)
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeedService changeFeed;
+
+    @MockitoBean
+    private SwCacheService cacheService;
+
+    @MockitoBean
+    private SnapshotVersionService versions;
+
+    @Test
+    void subscriberReceivesChangesForItsResource() throws Exception {
+        // Given a subscriber to people changes
+        MvcResult result = mockMvc.perform(get("/api/changes").param("resource", "people"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andReturn();
+        assertEquals(1, changeFeed.subscriberCount());
+
+        // When planets and then people change
+        changeFeed.onSnapshotChanged(new SnapshotChangedEvent("planets", "ALL", "p1", "p2",
+                List.of(), List.of("https://swapi.info/api/planets/1"), List.of()));
+        changeFeed.onSnapshotChanged(new SnapshotChangedEvent("people", "ALL", "v1", "v2",
+                List.of("https://swapi.info/api/people/99"), List.of(), List.of()));
+
+        // Then only the people change is pushed, carrying the version and the added URL
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertTrue(result.getResponse().getContentAsString().contains("id:v2")));
+        String stream = result.getResponse().getContentAsString();
+        assertTrue(stream.contains("retry:10000"));
+        assertTrue(stream.contains("event:snapshot"));
+        assertTrue(stream.contains("https://swapi.info/api/people/99"));
+        assertFalse(stream.contains("planets/1"), "Planets changes should not reach a people subscriber");
+    }
+
+    @Test
+    void unknownResourceIsRejected() throws Exception {
+        mockMvc.perform(get("/api/changes").param("resource", "starships"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("starships")));
+    }
+}
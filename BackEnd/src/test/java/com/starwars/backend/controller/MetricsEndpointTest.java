@@ -0,0 +1,85 @@
+package com.starwars.backend.controller;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end check of the Prometheus scrape endpoint: after serving pages against a stand-in SWAPI,
+ * every hot-path stage (upstream, cache, sort, pagination, serialization) is exported with histogram buckets.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    private static final MockWebServer swapi = startSwapi();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @DynamicPropertySource
+    static void swapiUrl(DynamicPropertyRegistry registry) {
+        registry.add("swapi.base-url", () -> swapi.url("/api").toString());
+    }
+
+    @AfterAll
+    static void stopSwapi() throws IOException {
+        swapi.shutdown();
+    }
+
+    @Test
+    void prometheusEndpointExposesStageMetrics() {
+        // A miss, then a hit on the same dataset with a different sort
+        assertTrue(rest.getForEntity("/api/people", String.class).getStatusCode().is2xxSuccessful());
+        assertTrue(rest.getForEntity("/api/people?sort=created", String.class).getStatusCode().is2xxSuccessful());
+
+        String scrape = rest.getForObject("/actuator/prometheus", String.class);
+
+        assertNotNull(scrape);
+        assertTrue(scrape.contains("starwars_upstream_pages_total{resource=\"people\"} 1.0"), "Pages fetched");
+        assertTrue(scrape.contains("starwars_upstream_response_size_bytes_count{resource=\"people\"} 1"), "Upstream bytes");
+        assertTrue(scrape.contains("starwars_upstream_fetch_seconds_count{outcome=\"success\",resource=\"people\"} 1"),
+                "Crawl time");
+        assertTrue(scrape.contains("cache_gets_total{cache=\"peopleAll\",cache_manager=\"cacheManager\",name=\"peopleAll\",result=\"hit\"} 1.0"),
+                "Caffeine hit stats");
+        assertTrue(scrape.contains("starwars_dataset_load_seconds_bucket{resource=\"people\",le=\"0.1"),
+                "Dataset stage histogram");
+        assertTrue(scrape.contains("starwars_sort_seconds_bucket{strategy=\"CreatedSort\",type=\"PeopleDto\""),
+                "Per-strategy sort histogram");
+        assertTrue(scrape.contains("starwars_paginate_seconds_count{type=\"PeopleDto\"} 2"), "Pagination stage");
+        assertTrue(scrape.contains("starwars_response_serialization_seconds_count"), "Serialization stage");
+        assertTrue(scrape.contains("starwars_response_size_bytes_bucket"), "Response size histogram");
+    }
+
+    private static MockWebServer startSwapi() {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"count\":1,\"next\":null,\"previous\":null,\"results\":"
+                                + "[{\"name\":\"Luke\",\"created\":\"2014-12-09T13:50:51.644Z\"}]}");
+            }
+        });
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return server;
+    }
+}
@@ -0,0 +1,123 @@
+package com.starwars.backend.controller;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for the reactive serving mode: many concurrent cold requests against a slow upstream.
+ * Every request waits on the same in-flight crawl without holding a thread, so all of them complete
+ * while the server runs on Netty's small, fixed set of event-loop threads (no Tomcat worker pool) and SWAPI
+ * is crawled once per dataset.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveSwControllerLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final long UPSTREAM_DELAY_MS = 1_000;
+
+    private static final AtomicInteger upstreamCalls = new AtomicInteger();
+    private static final MockWebServer swapi = startSwapi();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @DynamicPropertySource
+    static void swapiUrl(DynamicPropertyRegistry registry) {
+        registry.add("swapi.base-url", () -> swapi.url("/api").toString());
+    }
+
+    @AfterAll
+    static void stopSwapi() throws IOException {
+        swapi.shutdown();
+    }
+
+    @Test
+    void reactiveModeRunsOnNetty() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer(),
+                "Tomcat is on the classpath for the servlet mode, but the reactive mode must serve on Netty");
+    }
+
+    @Test
+    void concurrentColdRequestsShareOneUpstreamCrawlWithoutThreadPerRequest() {
+        // One connection per request, so the client side doesn't queue requests in a pool
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(ConnectionProvider.newConnection())))
+                .build();
+
+        long start = System.nanoTime();
+        List<String> bodies = Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> client.get()
+                        .uri(i % 2 == 0 ? "/api/people?page=0" : "/api/planets?page=0&sort=population")
+                        .retrieve()
+                        .bodyToMono(String.class), CONCURRENT_REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNotNull(bodies);
+        assertEquals(CONCURRENT_REQUESTS, bodies.size(), "Every request should complete");
+        assertTrue(bodies.stream().allMatch(b -> b.contains("\"total\":1")), "Every response should carry data");
+        assertEquals(2, upstreamCalls.get(), "One upstream crawl per dataset, shared by all waiting requests");
+        assertTrue(elapsedMs < 10 * UPSTREAM_DELAY_MS,
+                "Requests should wait concurrently, not queue behind threads (took " + elapsedMs + " ms)");
+
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+        // Tomcat names its request workers "http-nio-<port>-exec-<n>"; none may serve this port
+        List<String> workerThreads = Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(name -> name.contains("-" + port + "-exec-"))
+                .toList();
+        assertTrue(workerThreads.isEmpty(), "Requests should not be served by a worker pool: " + workerThreads);
+    }
+
+    private static MockWebServer startSwapi() {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                upstreamCalls.incrementAndGet();
+                String resource = request.getPath() != null && request.getPath().contains("planets") ? "Tatooine" : "Luke";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setHeadersDelay(UPSTREAM_DELAY_MS, TimeUnit.MILLISECONDS)
+                        .setBody("{\"count\":1,\"next\":null,\"previous\":null,\"results\":[{\"name\":\"" + resource + "\"}]}");
+            }
+        });
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return server;
+    }
+}
@@ -1,26 +1,58 @@
 package com.starwars.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.model.BatchQuery;
+import com.starwars.backend.model.DatasetExport;
+import com.starwars.backend.model.ExportFormat;
+import com.starwars.backend.model.Facets;
+import com.starwars.backend.model.EncodedPage;
 import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PageResponse;
 import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.ResponseFormat;
+import com.starwars.backend.model.Suggestion;
+import com.starwars.backend.service.FacetService;
+import com.starwars.backend.service.SuggestService;
 import com.starwars.backend.service.SwService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Controller slice tests for SwController, verifying:
  * 1) successful default retrieval of People,
- * 2) error handling mapped to JSON with correct status and message.
+ * 2) error handling mapped to JSON with correct status and message (502 for an unreachable upstream),
+ * 3) conditional requests answered with 304 when the ETag matches,
+ * 4) Accept-driven selection of binary formats,
+ * 5) precompressed gzip variants chosen by Accept-Encoding,
+ * 6) batch queries answered as one JSON array,
+ * 7) dataset exports streamed asynchronously as attachments,
+ * 8) typeahead suggestions returned as a compact JSON array,
+ * 9) facet counts and histograms returned as JSON.
  */
 @WebMvcTest(SwController.class)
 class SwControllerMockMvcTest {
@@ -31,6 +63,12 @@ class SwControllerMockMvcTest {
     @MockitoBean
     private SwService swService;  // mock-injected service
 
+    @MockitoBean
+    private SuggestService suggestService;
+
+    @MockitoBean
+    private FacetService facetService;
+
     @Test
     void peopleDefaultReturnsPageDto() throws Exception {
         // Given a sample PeopleDto
@@ -46,12 +84,14 @@ class SwControllerMockMvcTest {
                 .build();
 
         // When the service is called with default parameters
-        given(swService.getPeople(0, 15, null, "name", "asc"))
-                .willReturn(page);
+        byte[] body = new ObjectMapper().writeValueAsBytes(page);
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.JSON))
+                .willReturn(new PageResponse("\"v1-abc\"", () -> EncodedPage.identity(body)));
 
-        // Then GET /api/people returns 200 with the expected JSON
+        // Then GET /api/people returns 200 with the expected JSON and ETag
         mockMvc.perform(get("/api/people"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1-abc\""))
                 .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(15))
                 .andExpect(jsonPath("$.total").value(1))
@@ -61,7 +101,7 @@ class SwControllerMockMvcTest {
     @Test
     void serviceErrorIsMappedToJsonErrorResponse() throws Exception {
         // Given the service throws a 502 Bad Gateway
-        given(swService.getPeople(0, 15, null, "name", "asc"))
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.JSON))
                 .willThrow(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream down"));
 
         // When GET /api/people, then response is 502 with error JSON
@@ -70,4 +110,155 @@ class SwControllerMockMvcTest {
                 .andExpect(jsonPath("$.status").value(502))
                 .andExpect(jsonPath("$.message").value("Upstream down"));
     }
+
+    @Test
+    void unreachableUpstreamIsMappedToBadGateway() throws Exception {
+        // Given the crawl fails to connect, wrapped the way Mono.block() and the crawl future wrap it
+        WebClientRequestException refused = new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.GET, URI.create("https://swapi.info/api/people/"), new HttpHeaders());
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.JSON))
+                .willThrow(new IllegalStateException(refused));
+
+        mockMvc.perform(get("/api/people"))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.status").value(502))
+                .andExpect(jsonPath("$.message").value("Upstream service unavailable. Please try again later."));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+        // Given a page whose body must never be rendered
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.JSON))
+                .willReturn(new PageResponse("\"v1-abc\"", () -> {
+                    throw new AssertionError("Body should not be rendered for a 304");
+                }));
+
+        // When the client revalidates with the current ETag, then 304 with no content
+        mockMvc.perform(get("/api/people").header("If-None-Match", "\"v1-abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1-abc\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void acceptHeaderSelectsBinaryFormat() throws Exception {
+        // Given a CBOR-encoded page for the negotiated format
+        byte[] body = {(byte) 0xa0};
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.CBOR))
+                .willReturn(new PageResponse("\"v1-cbor\"", () -> EncodedPage.identity(body)));
+
+        // When the client prefers CBOR over JSON, then the bytes are served as application/cbor
+        mockMvc.perform(get("/api/people").header("Accept", "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void msgpackAliasSelectsMessagePack() throws Exception {
+        byte[] body = {(byte) 0x80};
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.MSGPACK))
+                .willReturn(new PageResponse("\"v1-msgpack\"", () -> EncodedPage.identity(body)));
+
+        mockMvc.perform(get("/api/people").header("Accept", "application/msgpack"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-msgpack"))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void gzipVariantIsServedWhenAccepted() throws Exception {
+        // Given a page large enough to carry a gzip variant
+        byte[] json = ("{\"items\":\"" + "x".repeat(4096) + "\"}").getBytes();
+        EncodedPage encoded = EncodedPage.of(json, 1024);
+        given(swService.renderPeople(0, 15, null, "name", "asc", null, ResponseFormat.JSON))
+                .willReturn(new PageResponse("\"v1-abc\"", () -> encoded));
+
+        // When the client accepts gzip, then the precompressed bytes are served with their own ETag
+        mockMvc.perform(get("/api/people").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"v1-abc-gzip\""))
+                .andExpect(content().bytes(encoded.getGzip()));
+
+        // And a client that refuses gzip gets the identity bytes
+        mockMvc.perform(get("/api/people").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(json));
+
+        // And revalidating the gzip ETag yields 304
+        mockMvc.perform(get("/api/people").header("If-None-Match", "W/\"v1-abc-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1-abc-gzip\""));
+    }
+
+    @Test
+    void batchReturnsPagesAsJsonArray() throws Exception {
+        // Given the service renders two queries
+        List<BatchQuery> queries = List.of(
+                new BatchQuery("people", 0, 15, null, "name", "asc", null),
+                new BatchQuery("planets", null, null, "tat", null, null, null));
+        given(swService.renderBatch(queries))
+                .willReturn("[{\"page\":0,\"items\":[]},{\"page\":0,\"items\":[]}]".getBytes());
+
+        // When POSTing the batch, then both pages come back in one JSON response
+        mockMvc.perform(post("/api/batch")
+                        .contentType("application/json")
+                        .content(new ObjectMapper().writeValueAsBytes(queries)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].page").value(0));
+    }
+
+    @Test
+    void exportStreamsCsvAttachment() throws Exception {
+        // Given a prepared CSV export that writes two lines
+        DatasetExport export = new DatasetExport("planets", ExportFormat.CSV, List.of(), Object.class, "");
+        given(swService.export("planets", null, "name", "asc", null, ExportFormat.CSV)).willReturn(export);
+        willAnswer(inv -> {
+            inv.getArgument(1, OutputStream.class).write("name\r\nTatooine\r\n".getBytes());
+            return 1;
+        }).given(swService).writeExport(any(), any());
+
+        // When requesting the CSV export, then the body is streamed asynchronously as an attachment
+        MvcResult started = mockMvc.perform(get("/api/planets/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"planets.csv\""))
+                .andExpect(content().string("name\r\nTatooine\r\n"));
+    }
+
+    @Test
+    void suggestReturnsIdsAndNames() throws Exception {
+        given(suggestService.suggest("people", "sky", 10))
+                .willReturn(List.of(new Suggestion("11", "Anakin Skywalker"), new Suggestion("1", "Luke Skywalker")));
+
+        mockMvc.perform(get("/api/people/suggest").param("q", "sky"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [{"id":"11","name":"Anakin Skywalker"},{"id":"1","name":"Luke Skywalker"}]
+                        """, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void facetsReturnCountsAndHistograms() throws Exception {
+        given(facetService.facets("planets", "climate,population", "oo"))
+                .willReturn(new Facets(2, Map.of("climate", Map.of("arid", 1, "temperate", 1)),
+                        Map.of("population", new Facets.Histogram(
+                                List.of(new Facets.Bucket(0, 1, 0), new Facets.Bucket(1, 10, 1)), 1))));
+
+        mockMvc.perform(get("/api/planets/facets").param("fields", "climate,population").param("search", "oo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.values.climate.arid").value(1))
+                .andExpect(jsonPath("$.histograms.population.buckets[1].from").value(1))
+                .andExpect(jsonPath("$.histograms.population.buckets[1].count").value(1))
+                .andExpect(jsonPath("$.histograms.population.unknown").value(1));
+    }
 }
@@ -0,0 +1,88 @@
+package com.starwars.backend.jfr;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.sorting.NameSort;
+import com.starwars.backend.sorting.SortEngine;
+import com.starwars.backend.util.PaginationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JFR instrumentation: the shipped settings file enables every domain event, and a recording
+ * of sort and paginate calls is summarized per phase by RecordingAnalyzer.
+ */
+class RecordingAnalyzerTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void settingsFileEnablesEveryDomainEvent() throws Exception {
+        try (Reader jfc = new InputStreamReader(Objects.requireNonNull(
+                getClass().getResourceAsStream("/jfr/starwars.jfc")), StandardCharsets.UTF_8)) {
+            Configuration configuration = Configuration.create(jfc);
+            for (String event : List.of("UpstreamFetch", "DatasetLoad", "Sort", "Paginate", "ResponseWrite")) {
+                assertEquals("true", configuration.getSettings().get("starwars." + event + "#enabled"), event);
+            }
+        }
+    }
+
+    @Test
+    void recordingIsSummarizedPerPhase() throws Exception {
+        List<PeopleDto> people = IntStream.range(0, 100).mapToObj(i -> {
+            PeopleDto p = new PeopleDto();
+            p.setName("P" + (100 - i));
+            return p;
+        }).toList();
+        SortEngine sortEngine = new SortEngine(List.of(new NameSort()), new SimpleMeterRegistry());
+        Path file = tmp.resolve("test.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SortEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(PaginateEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                List<PeopleDto> sorted = sortEngine.sort(people, PeopleDto.class, "name", true);
+                PaginationUtil.paginate(sorted, i, 15);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordingAnalyzer.PhaseSummary> summaries = RecordingAnalyzer.summarize(file);
+        RecordingAnalyzer.PhaseSummary sort = find(summaries, "Sort");
+        RecordingAnalyzer.PhaseSummary paginate = find(summaries, "Paginate");
+
+        assertEquals(3, sort.count());
+        assertEquals("PeopleDto", sort.resource());
+        assertEquals(300, sort.items(), "Each sort covers the whole dataset");
+        assertEquals(3, paginate.count());
+        assertEquals(45, paginate.items(), "Each page holds 15 people");
+        assertTrue(sort.p50().compareTo(sort.max()) <= 0);
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        RecordingAnalyzer.print(summaries, new PrintStream(table, true, StandardCharsets.UTF_8));
+        assertTrue(table.toString(StandardCharsets.UTF_8).contains("Paginate"));
+    }
+
+    private static RecordingAnalyzer.PhaseSummary find(List<RecordingAnalyzer.PhaseSummary> summaries, String phase) {
+        return summaries.stream().filter(s -> s.phase().equals(phase)).findFirst()
+                .orElseThrow(() -> new AssertionError("No " + phase + " events in " + summaries));
+    }
+}
@@ -0,0 +1,39 @@
+package com.starwars.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for ResponseFormat negotiation from Accept headers.
+ */
+class ResponseFormatTest {
+
+    @Test
+    void missingOrWildcardAcceptDefaultsToJson() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/html,application/xhtml+xml,*/*;q=0.8"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/*"));
+    }
+
+    @Test
+    void explicitBinaryTypesAreSelected() {
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate("application/x-jackson-smile"));
+        assertEquals(ResponseFormat.MSGPACK, ResponseFormat.negotiate("application/x-msgpack, */*;q=0.1"));
+        assertEquals(ResponseFormat.MSGPACK, ResponseFormat.negotiate("application/msgpack"));
+    }
+
+    @Test
+    void qualityValuesDecide() {
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/json;q=0.4, application/cbor;q=0.9"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0.4, application/json"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0"));
+    }
+
+    @Test
+    void unsupportedOrInvalidAcceptFallsBackToJson() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/csv"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("not a media type"));
+    }
+}
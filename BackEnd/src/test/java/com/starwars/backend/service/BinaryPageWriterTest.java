@@ -0,0 +1,90 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.ResponseFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BinaryPageWriter: every binary format decodes to the same tree as the JSON output
+ * (including the created/edited representation), and is smaller than JSON.
+ * Encode times are measured in PageSerializationBenchmark.
+ */
+class BinaryPageWriterTest {
+
+    private final JacksonConfig config = new JacksonConfig();
+    private final ObjectMapper jsonMapper = config.objectMapper();
+    private final PageJsonWriter jsonWriter = new PageJsonWriter(jsonMapper);
+    private final Map<ResponseFormat, AbstractJackson2HttpMessageConverter> converters = Map.of(
+            ResponseFormat.SMILE, config.smileHttpMessageConverter(),
+            ResponseFormat.CBOR, config.cborHttpMessageConverter(),
+            ResponseFormat.MSGPACK, config.messagePackHttpMessageConverter());
+    private final BinaryPageWriter writer = new BinaryPageWriter(List.copyOf(converters.values()));
+
+    @Test
+    void binaryFormatsDecodeToSameTreeAsJson() throws Exception {
+        PageDto<PeopleDto> page = samplePage(15);
+        JsonNode expected = jsonMapper.readTree(jsonWriter.toBytes(page));
+
+        for (Map.Entry<ResponseFormat, AbstractJackson2HttpMessageConverter> entry : converters.entrySet()) {
+            assertTrue(writer.supports(entry.getKey()));
+            byte[] encoded = writer.toBytes(page, entry.getKey(), "");
+            JsonNode decoded = entry.getValue().getObjectMapper().readTree(encoded);
+
+            assertEquals(expected, decoded, entry.getKey() + " should carry the same content as JSON");
+            assertEquals("9-12-2014 13:50:51", decoded.at("/items/0/created").asText(),
+                    entry.getKey() + " should keep the custom created format");
+        }
+    }
+
+    @Test
+    void projectionAppliesToBinaryFormats() throws Exception {
+        byte[] encoded = writer.toBytes(samplePage(1), ResponseFormat.SMILE, "mass,name");
+        JsonNode item = converters.get(ResponseFormat.SMILE).getObjectMapper().readTree(encoded).at("/items/0");
+
+        assertEquals(2, item.size(), "Only the requested fields should be encoded");
+        assertTrue(item.has("name") && item.has("mass"));
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() throws Exception {
+        PageDto<PeopleDto> page = samplePage(100);
+        int jsonSize = jsonMapper.writeValueAsBytes(page).length;
+
+        for (ResponseFormat format : converters.keySet()) {
+            assertTrue(writer.toBytes(page, format, "").length < jsonSize, format + " should be smaller than JSON");
+        }
+    }
+
+    private static PageDto<PeopleDto> samplePage(int count) {
+        List<PeopleDto> items = IntStream.range(0, count).mapToObj(i -> {
+            PeopleDto p = new PeopleDto();
+            p.setName("Person " + i);
+            p.setHeight(String.valueOf(150 + i));
+            p.setMass("1,3" + (i % 10) + "8");
+            p.setGender(i % 2 == 0 ? "male" : "n/a");
+            p.setBirthYear(i + "BBY");
+            p.setHomeworld("https://swapi.info/api/planets/" + i);
+            p.setFilms(List.of("https://swapi.info/api/films/1", "https://swapi.info/api/films/2"));
+            p.setVehicles(List.of("https://swapi.info/api/vehicles/14"));
+            p.setStarships(List.of());
+            p.setSpecies(List.of());
+            p.setCreated(OffsetDateTime.parse("2014-12-09T13:50:51.644Z"));
+            p.setEdited(OffsetDateTime.parse("2014-12-20T21:17:56.891Z"));
+            p.setUrl("https://swapi.info/api/people/" + i);
+            return p;
+        }).toList();
+        return PageDto.<PeopleDto>builder().page(0).size(count).total(count).items(items).build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ChangeFeedService delivery: a subscriber whose connection stops reading does not hold up the
+ * others, and is dropped once too many events are pending for it.
+ */
+class ChangeFeedServiceTest {
+
+    private final ChangeFeedService changeFeed = new ChangeFeedService(new ObjectMapper(),
+            mock(SwCacheService.class), mock(SnapshotVersionService.class), Duration.ofMinutes(30), 100);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        changeFeed.destroy();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutDelayingOthers() {
+        CountingEmitter fast = new CountingEmitter(null);
+        CountingEmitter slow = new CountingEmitter(unblock);
+        changeFeed.register(fast, null);
+        changeFeed.register(slow, null);
+
+        for (int i = 0; i < ChangeFeedService.MAX_PENDING_EVENTS + 2; i++) {
+            changeFeed.onSnapshotChanged(new SnapshotChangedEvent("people", "ALL", "v" + i, "v" + (i + 1),
+                    List.of(), List.of(), List.of()));
+            int expected = i + 2;
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(expected, fast.sent.get(),
+                    "The reading subscriber should get every event while the other one is stuck"));
+        }
+
+        assertEquals(1, changeFeed.subscriberCount(), "The subscriber that stopped reading should be dropped");
+    }
+
+    /** Counts sends; with a latch, every send after the initial comment blocks like a full socket buffer. */
+    private static final class CountingEmitter extends SseEmitter {
+        private final CountDownLatch block;
+        private final AtomicInteger sent = new AtomicInteger();
+
+        private CountingEmitter(CountDownLatch block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (sent.getAndIncrement() > 0 && block != null) {
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
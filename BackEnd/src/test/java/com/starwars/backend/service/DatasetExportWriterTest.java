@@ -0,0 +1,129 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.ExportFormat;
+import com.starwars.backend.model.PlanetDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for DatasetExportWriter: NDJSON lines match the page fragments without filling their cache,
+ * CSV quoting and list cells, sparse columns, and that a disconnected or interrupted export stops at the
+ * next chunk.
+ */
+class DatasetExportWriterTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final PageJsonWriter jsonWriter = spy(new PageJsonWriter(objectMapper));
+    private final DatasetExportWriter writer = new DatasetExportWriter(jsonWriter, objectMapper);
+
+    @Test
+    void ndjsonWritesOneFragmentPerLine() throws Exception {
+        List<PlanetDto> planets = planets(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, writer.write(planets, PlanetDto.class, "", ExportFormat.NDJSON, out));
+
+        verify(jsonWriter, never()).fragment(any(), anyString());
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(new String(jsonWriter.fragment(planets.get(i))), lines[i]);
+        }
+    }
+
+    @Test
+    void csvQuotesCellsAndJoinsLists() throws Exception {
+        PlanetDto planet = planets(1).get(0);
+        planet.setName("Yavin, IV \"moon\"");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(List.of(planet), PlanetDto.class, "films,name", ExportFormat.CSV, out);
+
+        verify(jsonWriter, never()).fragment(any(), anyString());
+        String[] lines = out.toString().split("\r\n");
+        assertEquals("name,films", lines[0], "Columns follow the type's property order");
+        assertEquals("\"Yavin, IV \"\"moon\"\"\",https://swapi.info/api/films/1;https://swapi.info/api/films/2",
+                lines[1]);
+    }
+
+    @Test
+    void csvHeaderIsWrittenForEmptyDataset() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, writer.write(List.of(), PlanetDto.class, "name,population", ExportFormat.CSV, out));
+        assertEquals("name,population\r\n", out.toString());
+    }
+
+    @Test
+    void disconnectedClientStopsExportAtNextChunk() {
+        CountingOutputStream out = new CountingOutputStream(1);
+
+        assertThrows(IOException.class, () ->
+                writer.write(planets(DatasetExportWriter.FLUSH_ROWS * 10), PlanetDto.class, "",
+                        ExportFormat.NDJSON, out));
+        assertEquals(2, out.flushes, "Writing should stop at the first failing flush");
+    }
+
+    @Test
+    void interruptedExportStopsAtNextChunk() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () ->
+                    writer.write(planets(DatasetExportWriter.FLUSH_ROWS * 2), PlanetDto.class, "",
+                            ExportFormat.NDJSON, out));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static List<PlanetDto> planets(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            PlanetDto p = new PlanetDto();
+            p.setName("Planet " + i);
+            p.setPopulation(String.valueOf(i * 1000));
+            p.setFilms(List.of("https://swapi.info/api/films/1", "https://swapi.info/api/films/2"));
+            return p;
+        }).toList();
+    }
+
+    /** Accepts writes but fails every flush after the allowed number, like a client that went away. */
+    private static final class CountingOutputStream extends OutputStream {
+        private final int allowedFlushes;
+        private int flushes;
+
+        private CountingOutputStream(int allowedFlushes) {
+            this.allowedFlushes = allowedFlushes;
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (++flushes > allowedFlushes) {
+                throw new IOException("Broken pipe");
+            }
+        }
+    }
+}
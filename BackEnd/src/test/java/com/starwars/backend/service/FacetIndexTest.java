@@ -0,0 +1,108 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.Facets;
+import com.starwars.backend.model.Facets.Bucket;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FacetIndex: value counts over normalized and comma-separated values, search filtering on
+ * the name column, and histograms whose buckets stay fixed when the rows are filtered.
+ */
+class FacetIndexTest {
+
+    @Test
+    void countsNormalizedGendersMostFrequentFirst() {
+        FacetIndex index = FacetIndex.people(List.of(
+                person("Luke Skywalker", "male", "77"),
+                person("Leia Organa", "female", "49"),
+                person("R2-D2", "n/a", "32"),
+                person("Darth Vader", "male", "136"),
+                person("IG-88", "none", "140")));
+
+        Facets facets = index.facets(List.of("gender"), "ALL");
+
+        assertEquals(5, facets.total());
+        assertEquals(List.of("male", "unknown", "female"), List.copyOf(facets.values().get("gender").keySet()));
+        assertEquals(Map.of("male", 2, "unknown", 2, "female", 1), facets.values().get("gender"));
+        assertTrue(facets.histograms().isEmpty());
+    }
+
+    @Test
+    void searchFiltersRowsAndSplitsMultiValuedFields() {
+        FacetIndex index = FacetIndex.planets(List.of(
+                planet("Tatooine", "arid", "desert", "200000"),
+                planet("Naboo", "temperate", "grassy hills, swamps, forests", "4500000000"),
+                planet("Dagobah", "murky", "swamp, jungles", "unknown"),
+                planet("Hoth", "frozen", "tundra, ice caves, mountain ranges", "unknown"),
+                planet("Kamino", "temperate", "ocean", "1000000000")));
+
+        Facets facets = index.facets(List.of("terrain", "climate"), "oo");
+
+        assertEquals(2, facets.total(), "Tatooine and Naboo contain 'oo'");
+        assertEquals(List.of("terrain", "climate"), List.copyOf(facets.values().keySet()));
+        assertEquals(Map.of("arid", 1, "temperate", 1), facets.values().get("climate"));
+        assertEquals(List.of("desert", "forests", "grassy hills", "swamps"),
+                List.copyOf(facets.values().get("terrain").keySet()));
+        assertEquals(0, index.facets(List.of("climate"), "zzz").total());
+    }
+
+    @Test
+    void histogramBucketsAreFixedPerSnapshot() {
+        FacetIndex index = FacetIndex.planets(List.of(
+                planet("Tatooine", "arid", "desert", "200000"),
+                planet("Naboo", "temperate", "grassy hills", "4,500,000,000"),
+                planet("Dagobah", "murky", "swamp", "unknown"),
+                planet("Yavin IV", "temperate", "jungle", "1000")));
+
+        Facets.Histogram all = index.facets(List.of("population"), "ALL").histograms().get("population");
+        Facets.Histogram filtered = index.facets(List.of("population"), "tatooine").histograms().get("population");
+
+        assertEquals(11, all.buckets().size(), "Decades from [0, 1) up to [1e9, 1e10)");
+        assertEquals(new Bucket(1000, 10000, 1), all.buckets().get(4));
+        assertEquals(new Bucket(1_000_000_000L, 10_000_000_000L, 1), all.buckets().get(10));
+        assertEquals(1, all.unknown());
+        assertEquals(all.buckets().size(), filtered.buckets().size());
+        assertEquals(1, filtered.buckets().get(6).count());
+        assertEquals(0, filtered.unknown());
+    }
+
+    @Test
+    void linearHistogramsUseRoundBucketWidths() {
+        FacetIndex index = FacetIndex.people(List.of(
+                person("Yoda", "male", "17"),
+                person("Luke Skywalker", "male", "77"),
+                person("Jabba Desilijic Tiure", "hermaphrodite", "1,358"),
+                person("Owen Lars", "male", "unknown")));
+
+        Facets.Histogram mass = index.facets(List.of("mass"), "ALL").histograms().get("mass");
+
+        assertEquals(new Bucket(0, 200, 2), mass.buckets().get(0));
+        assertEquals(new Bucket(1200, 1400, 1), mass.buckets().get(mass.buckets().size() - 1));
+        assertEquals(1, mass.unknown());
+        assertThrows(IllegalArgumentException.class, () -> index.facets(List.of("climate"), "ALL"));
+    }
+
+    private static PeopleDto person(String name, String gender, String mass) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        p.setGender(gender);
+        p.setMass(mass);
+        return p;
+    }
+
+    private static PlanetDto planet(String name, String climate, String terrain, String population) {
+        PlanetDto p = new PlanetDto();
+        p.setName(name);
+        p.setClimate(climate);
+        p.setTerrain(terrain);
+        p.setPopulation(population);
+        return p;
+    }
+}
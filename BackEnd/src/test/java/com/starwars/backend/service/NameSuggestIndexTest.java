@@ -0,0 +1,106 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.Suggestion;
+import com.starwars.backend.service.NameSuggestIndex.Ranking;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameSuggestIndex: prefix and word-prefix matching, both rankings, limits and ids, and
+ * agreement of the bounded infix lookup with a full scan.
+ */
+class NameSuggestIndexTest {
+
+    private final NameSuggestIndex index = NameSuggestIndex.build(List.of(
+            person("Luke Skywalker", "https://swapi.info/api/people/1/"),
+            person("Anakin Skywalker", "https://swapi.info/api/people/11"),
+            person("Shmi Skywalker", null),
+            person("Lumiya", "https://swapi.info/api/people/90/"),
+            person("Obi-Wan Kenobi", "https://swapi.info/api/people/10/"),
+            person("Sly Moore", "https://swapi.info/api/people/80/")));
+
+    @Test
+    void prefixMatchesComeBeforeWordMatches() {
+        assertEquals(List.of("Shmi Skywalker", "Sly Moore", "Anakin Skywalker", "Luke Skywalker"),
+                names(index.suggest("S", 10, Ranking.PREFIX_FIRST)));
+        assertEquals(List.of("Anakin Skywalker", "Luke Skywalker", "Shmi Skywalker", "Sly Moore"),
+                names(index.suggest("s", 10, Ranking.NAME)));
+    }
+
+    @Test
+    void matchesWordsAfterPunctuationAndIgnoresCase() {
+        assertEquals(List.of("Obi-Wan Kenobi"), names(index.suggest("  WAN ", 5, Ranking.PREFIX_FIRST)));
+        assertEquals(List.of(), index.suggest("kywalker", 5, Ranking.PREFIX_FIRST), "Only word prefixes match");
+        assertEquals(List.of(), index.suggest(" ", 5, Ranking.PREFIX_FIRST));
+    }
+
+    @Test
+    void limitKeepsTheBestRankedAndIdsComeFromTheUrl() {
+        List<Suggestion> top = index.suggest("sky", 2, Ranking.PREFIX_FIRST);
+
+        assertEquals(List.of(new Suggestion("11", "Anakin Skywalker"), new Suggestion("1", "Luke Skywalker")), top);
+        assertEquals(List.of(new Suggestion("1", "Luke Skywalker"), new Suggestion("90", "Lumiya")),
+                index.suggest("lu", 2, Ranking.NAME));
+        assertNull(index.suggest("shmi", 1, Ranking.PREFIX_FIRST).get(0).id());
+    }
+
+    @Test
+    void boundedInfixLookupAgreesWithAFullScan() {
+        String[] words = {"sky", "walker", "skywalker", "lu", "luke", "s", "moore", "kenobi", "obi"};
+        Random random = new Random(7);
+        List<PeopleDto> people = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            people.add(person(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + (random.nextBoolean() ? "-" + words[random.nextInt(words.length)] : "") + " " + i, null));
+        }
+        NameSuggestIndex large = NameSuggestIndex.build(people);
+        List<String> sorted = people.stream().map(PeopleDto::getName)
+                .sorted(Comparator.comparing((String n) -> n.toLowerCase()).thenComparing(Comparator.naturalOrder())).toList();
+
+        for (String query : List.of("s", "sky", "lu", "walker", "obi", "1", "zz")) {
+            for (int limit : List.of(1, 7, 50)) {
+                List<String> prefix = sorted.stream().filter(n -> n.toLowerCase().startsWith(query)).toList();
+                List<String> word = sorted.stream()
+                        .filter(n -> !n.toLowerCase().startsWith(query) && hasWordStartingWith(n.toLowerCase(), query))
+                        .toList();
+                List<String> byName = sorted.stream()
+                        .filter(n -> n.toLowerCase().startsWith(query) || hasWordStartingWith(n.toLowerCase(), query))
+                        .limit(limit).toList();
+                List<String> prefixFirst = Stream.concat(prefix.stream(), word.stream())
+                        .limit(limit).toList();
+
+                assertEquals(prefixFirst, names(large.suggest(query, limit, Ranking.PREFIX_FIRST)), query + "/" + limit);
+                assertEquals(byName, names(large.suggest(query, limit, Ranking.NAME)), query + "/" + limit);
+            }
+        }
+    }
+
+    private static boolean hasWordStartingWith(String name, String query) {
+        for (int i = 1; i < name.length(); i++) {
+            if (Character.isLetterOrDigit(name.charAt(i)) && !Character.isLetterOrDigit(name.charAt(i - 1))
+                    && name.startsWith(query, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> names(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::name).toList();
+    }
+
+    private static PeopleDto person(String name, String url) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        p.setUrl(url);
+        return p;
+    }
+}
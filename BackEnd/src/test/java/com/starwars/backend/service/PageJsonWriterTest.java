@@ -0,0 +1,90 @@
+package com.starwars.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageJsonWriter, verifying that fragment-assembled pages are byte-identical
+ * to what the JacksonConfig ObjectMapper produces, and that fragments are reused per entity.
+ */
+class PageJsonWriterTest {
+
+    private final ObjectMapper mapper = new JacksonConfig().objectMapper();
+    private final PageJsonWriter writer = new PageJsonWriter(mapper);
+
+    @Test
+    void peoplePageIsByteIdenticalToObjectMapper() throws Exception {
+        PeopleDto luke = new PeopleDto();
+        luke.setName("Luke Skywalker");
+        luke.setMass("77");
+        luke.setGender("male");
+        luke.setFilms(List.of("https://swapi.info/api/films/1"));
+        luke.setCreated(OffsetDateTime.parse("2014-12-09T13:50:51.644Z"));
+        luke.setEdited(OffsetDateTime.parse("2014-12-20T21:17:56.891Z"));
+
+        PeopleDto unknown = new PeopleDto();
+        unknown.setName("Padmé \"Amidala\"");
+
+        PageDto<PeopleDto> page = PageDto.<PeopleDto>builder()
+                .page(2).size(15).total(82).items(List.of(luke, unknown)).build();
+
+        assertArrayEquals(mapper.writeValueAsBytes(page), writer.toBytes(page),
+                "Assembled page should match Jackson output byte for byte");
+    }
+
+    @Test
+    void emptyAndNullItemPagesMatchObjectMapper() throws Exception {
+        PageDto<PlanetDto> empty = PageDto.<PlanetDto>builder()
+                .page(-1).size(0).total(0).items(List.of()).build();
+        PageDto<PlanetDto> nullItems = PageDto.<PlanetDto>builder()
+                .page(0).size(15).total(0).items(null).build();
+
+        assertArrayEquals(mapper.writeValueAsBytes(empty), writer.toBytes(empty));
+        assertArrayEquals(mapper.writeValueAsBytes(nullItems), writer.toBytes(nullItems));
+    }
+
+    @Test
+    void fragmentIsEncodedOncePerEntity() {
+        PlanetDto tatooine = new PlanetDto();
+        tatooine.setName("Tatooine");
+        tatooine.setPopulation("200000");
+
+        byte[] first = writer.fragment(tatooine);
+        byte[] second = writer.fragment(tatooine);
+
+        assertSame(first, second, "Fragment should be cached for the same entity instance");
+    }
+
+    @Test
+    void projectionKeepsOnlyRequestedFieldsInJacksonOrder() {
+        PlanetDto tatooine = new PlanetDto();
+        tatooine.setName("Tatooine");
+        tatooine.setPopulation("200000");
+        tatooine.setResidents(List.of("https://swapi.info/api/people/1"));
+
+        String fieldSet = writer.fieldSet(PlanetDto.class, "population,NAME,population");
+
+        assertEquals("name,population", fieldSet, "Field set should be canonical");
+        assertEquals("{\"name\":\"Tatooine\",\"population\":200000}",
+                new String(writer.fragment(tatooine, fieldSet)));
+        assertTrue(new String(writer.fragment(tatooine)).contains("residents"),
+                "Full fragment should be unaffected by projections");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertEquals(PageJsonWriter.ALL_FIELDS, writer.fieldSet(PeopleDto.class, " "));
+        assertThrows(ResponseStatusException.class, () -> writer.fieldSet(PeopleDto.class, "name,residents"),
+                "People have no residents field");
+    }
+}
@@ -0,0 +1,150 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.EncodedPage;
+import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PageQuery;
+import com.starwars.backend.model.PageResponse;
+import com.starwars.backend.model.PeopleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageResponseCache, verifying that pages are serialized once per snapshot version,
+ * that ETags track both query and version, and that stale entries are evicted on snapshot change.
+ */
+class PageResponseCacheTest {
+
+    private final List<Object> published = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PageResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        PageJsonWriter jsonWriter = new PageJsonWriter(new JacksonConfig().objectMapper());
+        SnapshotVersionService versions = new SnapshotVersionService(jsonWriter, event -> {
+            published.add(event);
+            cache.onSnapshotChanged((SnapshotChangedEvent) event);
+        });
+        cache = new PageResponseCache(jsonWriter, new BinaryPageWriter(List.of()), versions, meterRegistry, 1024);
+    }
+
+    @Test
+    void sameQueryAndSnapshotIsSerializedOnce() {
+        List<PeopleDto> snapshot = List.of(person("Luke"));
+        PageQuery query = PageQuery.of("people", 0, 15, null, "name", "asc");
+        AtomicInteger builds = new AtomicInteger();
+
+        PageResponse first = cache.get(query, snapshot, () -> page(snapshot, builds));
+        PageResponse second = cache.get(query, snapshot, () -> page(snapshot, builds));
+
+        assertArrayEquals(first.getBody().getIdentity(), second.getBody().getIdentity(), "Cached body should be reused");
+        assertEquals(first.getEtag(), second.getEtag(), "ETag should be stable for the same snapshot");
+        assertEquals(1, builds.get(), "Page should be built only once");
+    }
+
+    @Test
+    void etagDependsOnQueryAndIgnoresCosmeticDifferences() {
+        List<PeopleDto> snapshot = List.of(person("Luke"));
+
+        String base = cache.get(PageQuery.of("people", 0, 15, "Sky", "NAME", "ASC"), snapshot, () -> null).getEtag();
+        String same = cache.get(PageQuery.of("people", 0, 15, "sky", "name", "asc"), snapshot, () -> null).getEtag();
+        String other = cache.get(PageQuery.of("people", 1, 15, "sky", "name", "asc"), snapshot, () -> null).getEtag();
+
+        assertEquals(base, same, "Case differences should normalize to the same ETag");
+        assertNotEquals(base, other, "Different pages should have different ETags");
+        assertTrue(base.startsWith("\"") && base.endsWith("\""), "ETag should be a quoted strong validator");
+    }
+
+    @Test
+    void changedSnapshotGetsNewEtagAndEvictsStalePages() {
+        PageQuery query = PageQuery.of("people", 0, 15, null, "name", "asc");
+        AtomicInteger builds = new AtomicInteger();
+
+        List<PeopleDto> v1 = List.of(person("Luke"));
+        PageResponse before = cache.get(query, v1, () -> page(v1, builds));
+        before.getBody().getIdentity();
+
+        List<PeopleDto> v2 = List.of(person("Leia"));
+        PageResponse after = cache.get(query, v2, () -> page(v2, builds));
+
+        assertNotEquals(before.getEtag(), after.getEtag(), "New content should produce a new ETag");
+        assertEquals(1, published.size(), "A snapshot change event should be published");
+        assertTrue(new String(after.getBody().getIdentity()).contains("Leia"), "Body should reflect the new snapshot");
+        assertEquals(2, builds.get(), "New snapshot should trigger a rebuild");
+    }
+
+    @Test
+    void reloadWithIdenticalContentKeepsEtag() {
+        PageQuery query = PageQuery.of("people", 0, 15, null, "name", "asc");
+
+        String first = cache.get(query, List.of(person("Luke")), () -> null).getEtag();
+        String reloaded = cache.get(query, new ArrayList<>(List.of(person("Luke"))), () -> null).getEtag();
+
+        assertEquals(first, reloaded, "Identical content should keep the same version and ETag");
+        assertTrue(published.isEmpty(), "No change event for identical content");
+    }
+
+    @Test
+    void sparseFieldSetIsCachedSeparatelyAndReported() {
+        List<PeopleDto> snapshot = List.of(person("Luke"));
+        PageQuery full = PageQuery.of("people", 0, 15, null, "name", "asc");
+        PageQuery sparse = PageQuery.of("people", 0, 15, null, "name", "asc",
+                cache.fieldSet(PeopleDto.class, "Name , mass"));
+
+        PageResponse fullResponse = cache.get(full, snapshot, () -> page(snapshot, new AtomicInteger()));
+        PageResponse sparseResponse = cache.get(sparse, snapshot, () -> page(snapshot, new AtomicInteger()));
+
+        assertNotEquals(fullResponse.getEtag(), sparseResponse.getEtag(), "Field set should be part of the ETag");
+        assertEquals("{\"page\":0,\"size\":15,\"total\":1,\"items\":[{\"name\":\"Luke\",\"mass\":null}]}",
+                new String(sparseResponse.getBody().getIdentity()));
+        assertTrue(fullResponse.getBody().getIdentity().length > sparseResponse.getBody().getIdentity().length);
+        assertEquals(1, meterRegistry.get("starwars.response.size").tag("fields", "projected").summary().count());
+        assertEquals(1, meterRegistry.get("starwars.response.serialization").tag("fields", "all").timer().count());
+    }
+
+    @Test
+    void largePagesStoreGzipVariantOnce() throws Exception {
+        List<PeopleDto> snapshot = IntStream.range(0, 50).mapToObj(i -> person("Person " + i)).toList();
+        PageQuery query = PageQuery.of("people", 0, 50, null, "name", "asc");
+
+        EncodedPage first = cache.get(query, snapshot, () -> page(snapshot, new AtomicInteger())).getBody();
+        EncodedPage second = cache.get(query, snapshot, () -> page(snapshot, new AtomicInteger())).getBody();
+
+        assertNotNull(first.getGzip(), "Pages above the threshold should carry a gzip variant");
+        assertSame(first.getGzip(), second.getGzip(), "Gzip variant should be computed once and reused");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.getGzip()))) {
+            assertArrayEquals(first.getIdentity(), in.readAllBytes(), "Gzip variant should inflate to the identity bytes");
+        }
+    }
+
+    @Test
+    void smallPagesAreNotCompressed() {
+        List<PeopleDto> snapshot = List.of(person("Luke"));
+        EncodedPage page = cache.get(PageQuery.of("people", 0, 15, null, "name", "asc"), snapshot,
+                () -> page(snapshot, new AtomicInteger())).getBody();
+
+        assertNull(page.getGzip(), "Pages below the threshold should not be compressed");
+    }
+
+    private static PeopleDto person(String name) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        return p;
+    }
+
+    private static PageDto<?> page(List<PeopleDto> items, AtomicInteger builds) {
+        builds.incrementAndGet();
+        return PageDto.<PeopleDto>builder().page(0).size(15).total(items.size()).items(items).build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.model.PeopleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchContainment: searches are derived from the smallest cached superset,
+ * and only counted as misses when no superset is cached.
+ */
+class SearchContainmentTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager("peopleAll", "planetsAll");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchContainment containment = new SearchContainment(cacheManager, meterRegistry);
+
+    @Test
+    void derivesFromTheSmallestCachedSuperset() {
+        List<PeopleDto> all = List.of(person("Luke Skywalker"), person("Leia Organa"), person("Lumiya"),
+                person("Han Solo"));
+        // "Luka" only exists in the "lu" entry, which shows the smaller superset was used
+        List<PeopleDto> lu = List.of(person("Luke Skywalker"), person("Luka"), person("Lumiya"));
+        cacheManager.getCache("peopleAll").put("ALL", all);
+        cacheManager.getCache("peopleAll").put("lu", lu);
+        cacheManager.getCache("peopleAll").put("sky", List.of(person("Luke Skywalker")));
+
+        List<PeopleDto> luk = containment.derive("people", "luk");
+
+        assertEquals(List.of("Luke Skywalker", "Luka"), luk.stream().map(PeopleDto::getName).toList());
+        assertEquals(List.of("Leia Organa"), containment.<PeopleDto>derive("people", "org").stream()
+                .map(PeopleDto::getName).toList(), "Any search can be derived from the unfiltered dataset");
+        assertEquals(2, meterRegistry.get("starwars.search.derived").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void missesWhenNoSupersetIsCached() {
+        cacheManager.getCache("planetsAll").put("hoth", List.of());
+        cacheManager.getCache("peopleAll").put("ALL", List.of(person("Han Solo")));
+
+        assertNull(containment.derive("planets", "tatooine"), "Unrelated searches are not supersets");
+        assertNull(containment.derive("planets", "hot"), "A narrower cached search is not a superset");
+        assertEquals(2, meterRegistry.get("starwars.search.derived").tags("resource", "planets", "result", "miss")
+                .counter().count());
+    }
+
+    private static PeopleDto person(String name) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        return p;
+    }
+}
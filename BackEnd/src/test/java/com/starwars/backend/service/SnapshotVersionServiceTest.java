@@ -0,0 +1,67 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.PeopleDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotVersionService: content-based versions and the added/changed/removed
+ * summary carried by SnapshotChangedEvent.
+ */
+class SnapshotVersionServiceTest {
+
+    private final List<SnapshotChangedEvent> published = new ArrayList<>();
+    private final SnapshotVersionService versions = new SnapshotVersionService(
+            new PageJsonWriter(new JacksonConfig().objectMapper()),
+            event -> published.add((SnapshotChangedEvent) event));
+
+    @Test
+    void identicalReloadKeepsVersionAndPublishesNothing() {
+        String first = versions.versionOf("people", "ALL", List.of(person(1, "Luke")));
+        String second = versions.versionOf("people", "ALL", List.of(person(1, "Luke")));
+
+        assertEquals(first, second);
+        assertEquals(first, versions.currentVersion("people", "ALL"));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void changedReloadSummarizesAddedChangedAndRemovedUrls() {
+        String before = versions.versionOf("people", "ALL",
+                List.of(person(1, "Luke"), person(2, "Leia"), person(3, "Han")));
+        String after = versions.versionOf("people", "ALL",
+                List.of(person(1, "Luke"), person(2, "Leia Organa"), person(4, "Chewbacca")));
+
+        assertEquals(1, published.size());
+        SnapshotChangedEvent event = published.get(0);
+        assertEquals(before, event.previousVersion());
+        assertEquals(after, event.version());
+        assertEquals(List.of(url(4)), event.added());
+        assertEquals(List.of(url(2)), event.changed());
+        assertEquals(List.of(url(3)), event.removed());
+    }
+
+    @Test
+    void datasetKeysAreTrackedIndependently() {
+        versions.versionOf("people", "ALL", List.of(person(1, "Luke")));
+        versions.versionOf("people", "sky", List.of(person(1, "Luke Skywalker")));
+
+        assertTrue(published.isEmpty(), "A different search key is a different dataset, not a change");
+    }
+
+    private static PeopleDto person(int id, String name) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        p.setUrl(url(id));
+        return p;
+    }
+
+    private static String url(int id) {
+        return "https://swapi.info/api/people/" + id;
+    }
+}
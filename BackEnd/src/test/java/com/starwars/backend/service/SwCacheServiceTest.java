@@ -0,0 +1,239 @@
+package com.starwars.backend.service;
+
+import com.starwars.backend.cache.InMemoryL2Store;
+import com.starwars.backend.cache.SharedSnapshotTier;
+import com.starwars.backend.client.SwapiClient;
+import com.starwars.backend.model.PeopleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SwCacheService: concurrent misses share one upstream crawl, failures reach every waiter,
+ * replicas sharing the L2 tier crawl once, the upstream bulkhead refuses crawls when full and bounds waits,
+ * crawls that outlive their waiters are cached but never kept in flight, and searches that cannot match and
+ * recently failed crawls skip upstream.
+ * Serving modes under a slow upstream are compared in the load-test harness (upstream-bound scenario).
+ */
+class SwCacheServiceTest {
+
+    private static final int CONCURRENT_REQUESTS = 5_000;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(200);
+
+    private final SwapiClient swapiClient = mock(SwapiClient.class);
+    /** Bulkhead wide enough for every concurrent request, so only the tests below that shrink it see it. */
+    private final SwCacheService cacheService = new SwCacheService(swapiClient,
+            bulkhead(CONCURRENT_REQUESTS, CONCURRENT_REQUESTS, Duration.ofSeconds(60)), negativeLookup(Duration.ZERO),
+            containment(), caches(Duration.ofMinutes(10)));
+
+    @Test
+    void concurrentMissesShareOneUpstreamCrawl() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        when(swapiClient.fetchAllPeople("luke")).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            return Mono.just(List.of(person("Luke"))).delayElement(UPSTREAM_DELAY);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<PeopleDto>>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> cacheService.loadAllPeople("luke")));
+            }
+            for (Future<List<PeopleDto>> result : results) {
+                assertEquals("Luke", result.get(5, TimeUnit.SECONDS).get(0).getName());
+            }
+        }
+        assertEquals(1, calls.get(), "Concurrent callers should wait on the in-flight crawl");
+    }
+
+    @Test
+    void failedCrawlPropagatesToWaitersAndIsRetried() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(swapiClient.fetchAllPeople("leia")).thenAnswer(inv -> {
+            started.countDown();
+            return Mono.delay(UPSTREAM_DELAY).then(Mono.error(new IllegalStateException("upstream down")));
+        }).thenReturn(Mono.just(List.of(person("Leia"))));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<PeopleDto>> leader = executor.submit(() -> cacheService.loadAllPeople("leia"));
+            started.await();
+            Future<List<PeopleDto>> follower = executor.submit(() -> cacheService.loadAllPeople("leia"));
+
+            for (Future<List<PeopleDto>> result : List.of(leader, follower)) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        assertEquals("Leia", cacheService.loadAllPeople("leia").get(0).getName(),
+                "A failed crawl must not stay in flight");
+    }
+
+    @Test
+    void replicasSharingTheL2TierCrawlOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        when(swapiClient.fetchAllPeople(null)).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            return Mono.just(List.of(person("Luke")));
+        });
+        InMemoryL2Store sharedStore = new InMemoryL2Store();
+        SwCacheService replicaA = new SwCacheService(swapiClient, bulkhead(1, 1, Duration.ofSeconds(5)),
+                negativeLookup(Duration.ZERO), containment(), caches(Duration.ofMinutes(10)), tier(sharedStore));
+        SwCacheService replicaB = new SwCacheService(swapiClient, bulkhead(1, 1, Duration.ofSeconds(5)),
+                negativeLookup(Duration.ZERO), containment(), caches(Duration.ofMinutes(10)), tier(sharedStore));
+
+        assertEquals("Luke", replicaA.loadAllPeople(null).get(0).getName());
+        assertEquals("Luke", replicaB.loadAllPeople(null).get(0).getName());
+        assertEquals(1, calls.get(), "The second replica should load the snapshot from L2");
+    }
+
+    @Test
+    void saturatedBulkheadRefusesNewCrawlsButServesOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(swapiClient.fetchAllPeople(any())).thenAnswer(inv -> Mono.fromCallable(() -> {
+            release.await();
+            return List.of(person(inv.getArgument(0)));
+        }));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SwCacheService service = new SwCacheService(swapiClient,
+                new UpstreamBulkhead(registry, 1, 1, Duration.ofSeconds(5)), negativeLookup(Duration.ZERO),
+                containment(), caches(Duration.ofMinutes(10)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // One crawl running, one queued: the third distinct dataset is refused at once
+            Future<List<PeopleDto>> running = executor.submit(() -> service.loadAllPeople("a"));
+            verify(swapiClient, timeout(1000)).fetchAllPeople("a");
+            Future<List<PeopleDto>> queued = executor.submit(() -> service.loadAllPeople("b"));
+            while (registry.get("executor.queued").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+            ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                    () -> service.loadAllPeople("c"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getStatusCode());
+            assertEquals(1, registry.get("starwars.upstream.bulkhead").tag("outcome", "rejected").counter().count());
+
+            release.countDown();
+            assertEquals("a", running.get(5, TimeUnit.SECONDS).get(0).getName());
+            assertEquals("b", queued.get(5, TimeUnit.SECONDS).get(0).getName());
+        }
+    }
+
+    @Test
+    void waitersGiveUpAtTheDeadlineAndTheCrawlIsCachedForTheNextCaller() throws Exception {
+        when(swapiClient.fetchAllPeople("han"))
+                .thenReturn(Mono.just(List.of(person("Han"))).delayElement(UPSTREAM_DELAY));
+        CaffeineCacheManager caches = caches(Duration.ofMinutes(10));
+        SwCacheService service = new SwCacheService(swapiClient, bulkhead(1, 1, Duration.ofMillis(50)),
+                negativeLookup(Duration.ZERO), containment(), caches);
+
+        ResponseStatusException late = assertThrows(ResponseStatusException.class, () -> service.loadAllPeople("han"));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, late.getStatusCode());
+
+        Thread.sleep(UPSTREAM_DELAY.toMillis() * 2);
+        List<?> cached = caches.getCache("peopleAll").get("han", List.class);
+        assertNotNull(cached, "The crawl that outlived the deadline should be cached for the next caller");
+        assertEquals("Han", ((PeopleDto) cached.get(0)).getName());
+    }
+
+    @Test
+    void timedOutCrawlIsNotServedAfterTheCacheExpires() throws Exception {
+        when(swapiClient.fetchAllPeople("chewie"))
+                .thenAnswer(inv -> Mono.just(List.of(person("Chewie"))).delayElement(UPSTREAM_DELAY));
+        Duration ttl = Duration.ofMillis(100);
+        CaffeineCacheManager caches = caches(ttl);
+        SwCacheService service = new SwCacheService(swapiClient, bulkhead(1, 1, Duration.ofMillis(50)),
+                negativeLookup(Duration.ZERO), containment(), caches);
+
+        assertThrows(ResponseStatusException.class, () -> service.loadAllPeople("chewie"));
+        verify(swapiClient, timeout(1000)).fetchAllPeople("chewie");
+        Thread.sleep(UPSTREAM_DELAY.plus(ttl).toMillis() * 2);
+        assertNull(caches.getCache("peopleAll").get("chewie"), "The cached crawl should have expired");
+
+        assertThrows(ResponseStatusException.class, () -> service.loadAllPeople("chewie"),
+                "An expired crawl must not be reused from the in-flight map");
+        verify(swapiClient, timeout(1000).times(2)).fetchAllPeople("chewie");
+    }
+
+    @Test
+    void searchesThatCannotMatchSkipTheCrawl() {
+        when(swapiClient.fetchAllPeople(null)).thenReturn(Mono.just(List.of(person("Luke Skywalker"), person("Leia"))));
+        when(swapiClient.fetchAllPeople("SKY")).thenReturn(Mono.just(List.of(person("Luke Skywalker"))));
+        when(swapiClient.fetchAllPeople("lukee")).thenReturn(Mono.just(List.of()));
+
+        assertEquals(List.of(), cacheService.loadAllPeople("lukee"), "Without an index the crawl decides");
+        cacheService.loadAllPeople(null);
+
+        assertEquals(List.of(), cacheService.loadAllPeople("lukee"), "'ee' appears in no name");
+        assertEquals(List.of(), cacheService.loadAllPeople("Q"), "'q' appears in no name");
+        assertEquals("Luke Skywalker", cacheService.loadAllPeople("SKY").get(0).getName());
+        verify(swapiClient, times(1)).fetchAllPeople("lukee");
+        verify(swapiClient, never()).fetchAllPeople("Q");
+    }
+
+    @Test
+    void recentUpstreamFailureIsServedFromTheErrorCache() throws Exception {
+        when(swapiClient.fetchAllPlanets("hoth"))
+                .thenReturn(Mono.error(new IllegalStateException("upstream down")))
+                .thenReturn(Mono.just(List.of()));
+        SwCacheService service = new SwCacheService(swapiClient, bulkhead(1, 1, Duration.ofSeconds(5)),
+                negativeLookup(Duration.ofMillis(200)), containment(), caches(Duration.ofMinutes(10)));
+
+        assertThrows(IllegalStateException.class, () -> service.loadAllPlanets("hoth"));
+        ResponseStatusException cached = assertThrows(ResponseStatusException.class, () -> service.loadAllPlanets("hoth"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cached.getStatusCode());
+        verify(swapiClient, times(1)).fetchAllPlanets("hoth");
+
+        Thread.sleep(300);
+        assertEquals(List.of(), service.loadAllPlanets("hoth"), "After the error TTL the crawl is retried");
+        verify(swapiClient, times(2)).fetchAllPlanets("hoth");
+    }
+
+    private static UpstreamBulkhead bulkhead(int maxConcurrent, int queueSize, Duration waitTimeout) {
+        return new UpstreamBulkhead(new SimpleMeterRegistry(), maxConcurrent, queueSize, waitTimeout);
+    }
+
+    private static NegativeLookup negativeLookup(Duration errorTtl) {
+        return new NegativeLookup(new SimpleMeterRegistry(), Duration.ofMinutes(10), errorTtl);
+    }
+
+    /** Dataset caches the crawl tasks write to, with the given TTL. */
+    private static CaffeineCacheManager caches(Duration ttl) {
+        CaffeineCacheManager manager = new CaffeineCacheManager("peopleAll", "planetsAll");
+        manager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(ttl));
+        return manager;
+    }
+
+    /** Nothing is cached without the Spring proxy, so searches are never derived here; see SearchContainmentTest. */
+    private static SearchContainment containment() {
+        return new SearchContainment(new CaffeineCacheManager("peopleAll", "planetsAll"), new SimpleMeterRegistry());
+    }
+
+    private static SharedSnapshotTier tier(InMemoryL2Store store) {
+        return new SharedSnapshotTier(store, new SimpleMeterRegistry(), Duration.ofMinutes(10),
+                Duration.ofSeconds(30), Duration.ofSeconds(5));
+    }
+
+    private static PeopleDto person(String name) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        return p;
+    }
+}
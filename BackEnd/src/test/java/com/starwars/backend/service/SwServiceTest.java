@@ -1,25 +1,39 @@
 package com.starwars.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.backend.config.JacksonConfig;
+import com.starwars.backend.model.BatchQuery;
+import com.starwars.backend.model.DatasetExport;
+import com.starwars.backend.model.ExportFormat;
 import com.starwars.backend.model.PeopleDto;
-import com.starwars.backend.model.PageDto;
+import com.starwars.backend.model.PlanetDto;
+import com.starwars.backend.model.ResponseFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.starwars.backend.sorting.CreatedSort;
 import com.starwars.backend.sorting.NameSort;
 import com.starwars.backend.sorting.SortEngine;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
- * Unit tests for SwService, verifying filtering, sorting, and pagination behavior.
+ * Unit tests for SwService, verifying filtering, sorting, and pagination of the rendered (cached) pages,
+ * that batches share dataset loads and sorts across their queries, and that exports stream sorted rows.
  */
 @ExtendWith(MockitoExtension.class)
 class SwServiceTest {
@@ -27,16 +41,28 @@ class SwServiceTest {
     @Mock
     private SwCacheService cacheService;
 
+    private SortEngine sortEngine;
     private SwService service;
 
     @BeforeEach
     void setUp() {
-        SortEngine sortEngine = new SortEngine(List.of(new NameSort(), new CreatedSort()));
-        service = new SwService(cacheService, sortEngine);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sortEngine = spy(new SortEngine(List.of(new NameSort(), new CreatedSort()), meterRegistry));
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        PageJsonWriter jsonWriter = new PageJsonWriter(objectMapper);
+        PageResponseCache responseCache = new PageResponseCache(jsonWriter, new BinaryPageWriter(List.of()),
+                new SnapshotVersionService(jsonWriter, event -> { }), meterRegistry, 1024);
+        service = new SwService(cacheService, sortEngine, responseCache,
+                new DatasetExportWriter(jsonWriter, objectMapper), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
     }
 
     @Test
-    void filterByNameCaseInsensitiveAndPaginate() {
+    void filterByNameCaseInsensitiveAndPaginate() throws Exception {
         // Given a PeopleDto matching "skY"
         PeopleDto luke = new PeopleDto();
         luke.setName("Luke Skywalker");
@@ -45,8 +71,8 @@ class SwServiceTest {
         when(cacheService.loadAllPeople("skY"))
                 .thenReturn(List.of(luke));
 
-        // Call getPeople with search="skY", sort by name ascending
-        PageDto<PeopleDto> resultPage = service.getPeople(
+        // Render the people page with search="skY", sort by name ascending
+        JsonNode resultPage = renderPeople(
                 0,      // page
                 15,     // size
                 "skY",  // search
@@ -55,14 +81,14 @@ class SwServiceTest {
         );
 
         // Then only one result and it's Luke Skywalker
-        assertEquals(1, resultPage.getTotal(), "Should return exactly one result");
+        assertEquals(1, resultPage.get("total").asLong(), "Should return exactly one result");
         assertEquals("Luke Skywalker",
-                resultPage.getItems().get(0).getName(),
+                resultPage.at("/items/0/name").asText(),
                 "Filtered result should be Luke Skywalker");
     }
 
     @Test
-    void sortByCreatedDescending() {
+    void sortByCreatedDescending() throws Exception {
         // Given two PeopleDto with different creation timestamps
         PeopleDto older = new PeopleDto();
         older.setName("A");
@@ -76,8 +102,8 @@ class SwServiceTest {
         when(cacheService.loadAllPeople(null))
                 .thenReturn(List.of(older, newer));
 
-        // Call getPeople sorted by 'created' descending
-        PageDto<PeopleDto> resultPage = service.getPeople(
+        // Render the people page sorted by 'created' descending
+        JsonNode resultPage = renderPeople(
                 0,         // page
                 15,        // size
                 null,      // search
@@ -86,13 +112,13 @@ class SwServiceTest {
         );
 
         // Then items should be [newer, older]
-        assertEquals(List.of(newer, older),
-                resultPage.getItems(),
+        assertEquals(List.of("B", "A"),
+                resultPage.get("items").findValuesAsText("name"),
                 "Should sort by created date in descending order");
     }
 
     @Test
-    void paginationReturnsEmptyListWhenPageOutOfRange() {
+    void paginationReturnsEmptyListWhenPageOutOfRange() throws Exception {
         // Given a list of 10 PeopleDto items named P0…P9
         List<PeopleDto> items = IntStream.range(0, 10)
                 .mapToObj(i -> {
@@ -107,7 +133,7 @@ class SwServiceTest {
                 .thenReturn(items);
 
         // Request page 5 with size 15 (out of range)
-        PageDto<PeopleDto> resultPage = service.getPeople(
+        JsonNode resultPage = renderPeople(
                 5,      // page
                 15,     // size
                 null,   // search
@@ -117,9 +143,81 @@ class SwServiceTest {
 
         // Then total stays 10 and items list is empty
         assertEquals(10,
-                resultPage.getTotal(),
+                resultPage.get("total").asLong(),
                 "Total should remain the same as input list size");
-        assertTrue(resultPage.getItems().isEmpty(),
+        assertTrue(resultPage.get("items").isEmpty(),
                 "Items should be empty when page is out of range");
     }
+
+    @Test
+    void batchSharesDatasetLoadsAndSortsAndKeepsRequestOrder() throws Exception {
+        // Given three people and one planet
+        List<PeopleDto> people = IntStream.range(0, 3)
+                .mapToObj(i -> {
+                    PeopleDto p = new PeopleDto();
+                    p.setName("P" + (2 - i));
+                    p.setCreated(OffsetDateTime.parse("202" + i + "-01-01T00:00:00Z"));
+                    return p;
+                })
+                .toList();
+        PlanetDto tatooine = new PlanetDto();
+        tatooine.setName("Tatooine");
+        when(cacheService.loadAllPeople(null)).thenReturn(people);
+        when(cacheService.loadAllPlanets(null)).thenReturn(List.of(tatooine));
+
+        // When two pages of the same people sort, a planets page and another people sort are batched
+        byte[] body = service.renderBatch(List.of(
+                new BatchQuery("people", 0, 2, null, null, null, null),
+                new BatchQuery("planets", null, null, null, null, null, null),
+                new BatchQuery("people", 1, 2, null, "name", "asc", null),
+                new BatchQuery("people", 0, 1, null, "created", "desc", "name")));
+
+        // Then every page comes back in request order
+        JsonNode pages = new ObjectMapper().readTree(body);
+        assertEquals(4, pages.size());
+        assertEquals("P0", pages.at("/0/items/0/name").asText());
+        assertEquals("Tatooine", pages.at("/1/items/0/name").asText());
+        assertEquals("P2", pages.at("/2/items/0/name").asText());
+        assertEquals(1, pages.at("/2/page").asInt());
+        assertEquals("P0", pages.at("/3/items/0/name").asText(), "Newest person first");
+        assertEquals(1, pages.at("/3/items/0").size(), "Sparse fields apply per query");
+
+        // And each dataset is loaded once and each distinct sort runs once
+        verify(cacheService, times(1)).loadAllPeople(null);
+        verify(cacheService, times(1)).loadAllPlanets(null);
+        verify(sortEngine, times(3)).sort(anyList(), any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void batchRejectsUnknownResource() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.renderBatch(List.of(new BatchQuery("starships", 0, 15, null, null, null, null))));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void exportStreamsWholeDatasetInSortOrder() throws Exception {
+        // Given two people in reverse name order
+        PeopleDto b = new PeopleDto();
+        b.setName("B");
+        PeopleDto a = new PeopleDto();
+        a.setName("A");
+        when(cacheService.loadAllPeople(null)).thenReturn(List.of(b, a));
+
+        // When exporting names as NDJSON
+        DatasetExport export = service.export("people", null, "name", "asc", "name", ExportFormat.NDJSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rows = service.writeExport(export, out);
+
+        // Then every row is written, sorted, one JSON object per line
+        assertEquals(2, rows);
+        assertEquals("{\"name\":\"A\"}\n{\"name\":\"B\"}\n", out.toString());
+        assertEquals("people.ndjson", export.filename());
+    }
+
+    /** Renders a JSON people page through the cached path the controller uses, parsed for assertions. */
+    private JsonNode renderPeople(int page, int size, String search, String sort, String dir) throws Exception {
+        return new ObjectMapper().readTree(service.renderPeople(page, size, search, sort, dir, null,
+                ResponseFormat.JSON).getBody().getIdentity());
+    }
 }
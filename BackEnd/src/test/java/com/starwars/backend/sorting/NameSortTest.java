@@ -3,17 +3,21 @@ package com.starwars.backend.sorting;
 import com.starwars.backend.model.HasName;
 import com.starwars.backend.model.PeopleDto;
 import com.starwars.backend.model.PlanetDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Comparator;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for NameSort strategy, ensuring it supports the correct types
- * and performs case‑insensitive comparisons.
+ * and performs case‑insensitive comparisons, or locale-aware ones with collation keys.
  */
 @ExtendWith(MockitoExtension.class)
 class NameSortTest {
@@ -43,4 +47,31 @@ class NameSortTest {
         assertTrue(comparator.compare(firstPerson, secondPerson) < 0,
                 "Comparator should sort 'alpha' before 'Beta' (case‑insensitive)");
     }
+
+    @Test
+    void collationKeysSortAccentedNamesWithTheirBaseLetter() {
+        List<PeopleDto> people = List.of(person("Zam Wesell"), person("Éeth Koth"), person("ackbar"), person("Padmé"));
+        NameCollation collation = new NameCollation("en");
+        SortEngine plain = new SortEngine(List.of(strategy), new SimpleMeterRegistry());
+        SortEngine collated = new SortEngine(List.of(new NameSort(collation)), new SimpleMeterRegistry());
+
+        assertEquals(List.of("ackbar", "Padmé", "Zam Wesell", "Éeth Koth"),
+                names(plain.sort(people, PeopleDto.class, "name", true)));
+        assertEquals(List.of("ackbar", "Éeth Koth", "Padmé", "Zam Wesell"),
+                names(collated.sort(people, PeopleDto.class, "name", true)));
+        assertEquals(List.of("Zam Wesell", "Padmé", "Éeth Koth", "ackbar"),
+                names(collated.sort(people, PeopleDto.class, "name", false)));
+        assertSame(collation.keyOf(people.get(1)), collation.keyOf(people.get(1)), "Keys are computed once per entity");
+        assertTrue(new NameSort(collation).comparator().compare(person("Padme"), person("Padmé")) < 0);
+    }
+
+    private static PeopleDto person(String name) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        return p;
+    }
+
+    private static List<String> names(List<PeopleDto> people) {
+        return people.stream().map(PeopleDto::getName).toList();
+    }
 }
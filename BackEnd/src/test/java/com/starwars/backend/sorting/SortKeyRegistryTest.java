@@ -0,0 +1,89 @@
+package com.starwars.backend.sorting;
+
+import com.starwars.backend.model.PeopleDto;
+import com.starwars.backend.model.PlanetDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SortKeyRegistry, ensuring every DTO attribute gets a generated key with the right
+ * parsing rule (numbers, BBY/ABY years, list sizes, text), and that SortEngine sorts by those keys
+ * stably in both directions.
+ */
+class SortKeyRegistryTest {
+
+    private final SortKeyRegistry registry = new SortKeyRegistry();
+    private final SortEngine engine = new SortEngine(List.of(new NameSort()), registry, new SimpleMeterRegistry());
+
+    @Test
+    void registersEveryAttributeUnderItsApiName() {
+        assertTrue(registry.fields(PlanetDto.class).containsAll(List.of(
+                "diameter", "rotation_period", "orbital_period", "surface_water", "population", "residents")));
+        assertTrue(registry.fields(PeopleDto.class).containsAll(List.of("birth_year", "hair_color", "films")));
+        assertNotNull(registry.find(PlanetDto.class, "Rotation_Period"), "Lookup should ignore case");
+        assertNull(registry.find(PlanetDto.class, "birth_year"));
+        assertNull(registry.find(String.class, "name"));
+        assertInstanceOf(TextSortKey.class, registry.find(PeopleDto.class, "hair_color"));
+        assertNull(registry.find(PeopleDto.class, "hair_color").numericKey(), "Text keys have no primitive key");
+        assertNotNull(registry.find(PlanetDto.class, "population").numericKey());
+    }
+
+    @Test
+    void birthYearsSortAcrossTheBattleOfYavin() {
+        List<PeopleDto> people = List.of(person("Luke", "19BBY"), person("Yoda", "896BBY"),
+                person("Ben", "5ABY"), person("Rey", "unknown"), person("Padmé", "46bby"));
+
+        List<String> ascending = names(engine.sort(people, PeopleDto.class, "birth_year", true));
+        List<String> descending = names(engine.sort(people, PeopleDto.class, "birth_year", false));
+
+        assertEquals(List.of("Rey", "Yoda", "Padmé", "Luke", "Ben"), ascending);
+        assertEquals(List.of("Ben", "Luke", "Padmé", "Yoda", "Rey"), descending);
+    }
+
+    @Test
+    void numericTextAndListSizesUseTheirRules() {
+        PlanetDto hoth = planet("Hoth", "7,200", "23", List.of("a"));
+        PlanetDto tatooine = planet("Tatooine", "10465", "23", List.of("a", "b", "c"));
+        PlanetDto unknown = planet("Unknown", "unknown", "0", null);
+        List<PlanetDto> planets = List.of(tatooine, hoth, unknown);
+
+        assertEquals(List.of("Unknown", "Hoth", "Tatooine"),
+                planetNames(engine.sort(planets, PlanetDto.class, "diameter", true)));
+        assertEquals(List.of("Tatooine", "Hoth", "Unknown"),
+                planetNames(engine.sort(planets, PlanetDto.class, "residents", false)));
+        assertEquals(List.of("Tatooine", "Hoth", "Unknown"),
+                planetNames(engine.sort(planets, PlanetDto.class, "rotation_period", false)),
+                "Equal keys keep their input order in both directions");
+        assertEquals(List.of("Hoth", "Tatooine", "Unknown"),
+                planetNames(engine.sort(planets, PlanetDto.class, "climate", true)));
+    }
+
+    private static List<String> names(List<PeopleDto> people) {
+        return people.stream().map(PeopleDto::getName).toList();
+    }
+
+    private static List<String> planetNames(List<PlanetDto> planets) {
+        return planets.stream().map(PlanetDto::getName).toList();
+    }
+
+    private static PeopleDto person(String name, String birthYear) {
+        PeopleDto p = new PeopleDto();
+        p.setName(name);
+        p.setBirthYear(birthYear);
+        return p;
+    }
+
+    private static PlanetDto planet(String name, String diameter, String rotationPeriod, List<String> residents) {
+        PlanetDto p = new PlanetDto();
+        p.setName(name);
+        p.setDiameter(diameter);
+        p.setRotationPeriod(rotationPeriod);
+        p.setResidents(residents);
+        p.setClimate(name.toLowerCase());
+        return p;
+    }
+}